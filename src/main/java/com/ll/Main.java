@@ -1,17 +1,63 @@
 package com.ll;
 
-//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
-// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+import com.ll.loadTest.LoadTest;
+import com.ll.simpleDb.SimpleDb;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// SimpleDb 부하 테스트 실행
+// 예) --threads=50 --duration=60 --mix=70,10,15,5 --baseline=8000 --maxDrop=0.1
+// --baseline 을 지정하면 처리량이 baseline * (1 - maxDrop) 미만일 때 종료 코드 1 로 실패 (회귀 확인용)
 public class Main {
-    public static void main(String[] args) {
-        //TIP Press <shortcut actionId="ShowIntentionActions"/> with your caret at the highlighted text
-        // to see how IntelliJ IDEA suggests fixing it.
-        System.out.printf("Hello and welcome!");
-
-        for (int i = 1; i <= 5; i++) {
-            //TIP Press <shortcut actionId="Debug"/> to start debugging your code. We have set one <icon src="AllIcons.Debugger.Db_set_breakpoint"/> breakpoint
-            // for you, but you can always add more by pressing <shortcut actionId="ToggleLineBreakpoint"/>.
-            System.out.println("i = " + i);
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parseOptions(args);
+
+        SimpleDb simpleDb = new SimpleDb(
+                options.getOrDefault("host", "localhost"),
+                options.getOrDefault("username", "root"),
+                options.getOrDefault("password", "lldj123414"),
+                options.getOrDefault("dbName", "simpleDb__loadTest")
+        );
+
+        LoadTest loadTest = new LoadTest(simpleDb);
+        loadTest.setThreads(Integer.parseInt(options.getOrDefault("threads", "10")));
+        loadTest.setVirtualThreads(Boolean.parseBoolean(options.getOrDefault("virtualThreads", "false")));
+        loadTest.setDurationSeconds(Integer.parseInt(options.getOrDefault("duration", "30")));
+        loadTest.setWarmUpSeconds(Integer.parseInt(options.getOrDefault("warmUp", "5")));
+        loadTest.setSeedRows(Integer.parseInt(options.getOrDefault("seedRows", "1000")));
+        if (options.containsKey("mix")) {
+            loadTest.setWeights(Arrays.stream(options.get("mix").split(",")).mapToInt(Integer::parseInt).toArray());
         }
+
+        LoadTest.Report report = loadTest.run();
+        report.print();
+
+        simpleDb.shutdown();
+
+        if (options.containsKey("baseline")) {
+            double baseline = Double.parseDouble(options.get("baseline"));
+            double maxDrop = Double.parseDouble(options.getOrDefault("maxDrop", "0.1"));
+            double minThroughput = baseline * (1 - maxDrop);
+
+            if (report.throughput() < minThroughput) {
+                System.out.printf("REGRESSION: throughput %.1f ops/s < %.1f ops/s%n", report.throughput(), minThroughput);
+                System.exit(1);
+            }
+        }
+    }
+
+    // --key=value 형식의 인자를 Map 으로 변환
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) throw new IllegalArgumentException("Invalid option: " + arg);
+
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        return options;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,261 @@
+package com.ll.loadTest;
+
+import com.ll.simpleDb.SimpleDb;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// SimpleDb 에 select/insert/update/transaction 작업을 섞어 N개 쓰레드로 부하를 주고
+// 처리량, 지연 시간 백분위, 커넥션 수를 측정
+@RequiredArgsConstructor
+public class LoadTest {
+    public enum Operation {
+        SELECT, INSERT, UPDATE, TRANSACTION
+    }
+
+    public record OperationStats(Operation operation, long count, long errorCount, double p50Millis, double p95Millis,
+                                 double p99Millis, double maxMillis) {
+    }
+
+    public record Report(int threads, double elapsedSeconds, double throughput, long errorCount, int maxConnectionCount,
+                         List<OperationStats> operationStats) {
+        public void print() {
+            System.out.println("== load test ==");
+            System.out.printf("threads: %d, elapsed: %.1fs, throughput: %.1f ops/s, errors: %d, max connections: %d%n",
+                    threads, elapsedSeconds, throughput, errorCount, maxConnectionCount);
+
+            for (OperationStats stats : operationStats) {
+                System.out.printf("%-12s count: %8d, errors: %5d, p50: %7.2fms, p95: %7.2fms, p99: %7.2fms, max: %8.2fms%n",
+                        stats.operation(), stats.count(), stats.errorCount(),
+                        stats.p50Millis(), stats.p95Millis(), stats.p99Millis(), stats.maxMillis());
+            }
+        }
+    }
+
+    // 쓰레드별 작업 지연 시간 기록 (쓰레드끼리 공유하지 않으므로 동기화 불필요)
+    private static class Recorder {
+        private final long[][] latencies = new long[Operation.values().length][];
+        private final int[] counts = new int[Operation.values().length];
+        private final long[] errorCounts = new long[Operation.values().length];
+
+        Recorder() {
+            Arrays.setAll(latencies, i -> new long[1024]);
+        }
+
+        void record(Operation operation, long nanos) {
+            int i = operation.ordinal();
+            if (counts[i] == latencies[i].length) latencies[i] = Arrays.copyOf(latencies[i], counts[i] * 2);
+
+            latencies[i][counts[i]++] = nanos;
+        }
+
+        void recordError(Operation operation) {
+            errorCounts[operation.ordinal()]++;
+        }
+    }
+
+    private final SimpleDb simpleDb;
+    @Setter
+    private int threads = 10;
+    @Setter
+    private boolean virtualThreads = false;
+    @Setter
+    private int durationSeconds = 30;
+    // 측정에서 제외할 시작 구간
+    @Setter
+    private int warmUpSeconds = 5;
+    @Setter
+    private int seedRows = 1000;
+    // 작업별 비중 (SELECT, INSERT, UPDATE, TRANSACTION 순)
+    @Setter
+    private int[] weights = {70, 10, 15, 5};
+
+    public Report run() throws InterruptedException {
+        simpleDb.setDevMode(false);
+        prepareTable();
+
+        int maxId = (int) Math.max(1, simpleDb.selectLong("SELECT IFNULL(MAX(id), 0) FROM article"));
+        int totalWeight = Arrays.stream(weights).sum();
+
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + TimeUnit.SECONDS.toNanos(warmUpSeconds);
+        long endAt = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        List<Recorder> recorders = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger workerNo = new AtomicInteger();
+        // 마지막 작업이 끝난 시각 (endAt 이후에 끝나는 작업까지 포함해 실제 측정 구간을 계산)
+        AtomicLong finishedAt = new AtomicLong(endAt);
+        ExecutorService executorService = newExecutorService();
+
+        for (int i = 0; i < threads; i++) {
+            executorService.submit(() -> {
+                // SimpleDb 는 쓰레드 이름으로 커넥션을 구분하므로 이름이 없는 가상 쓰레드에도 이름을 붙인다
+                Thread.currentThread().setName("load-test-worker-" + workerNo.incrementAndGet());
+
+                Recorder recorder = new Recorder();
+                recorders.add(recorder);
+
+                try {
+                    long now;
+                    while ((now = System.nanoTime()) < endAt) {
+                        Operation operation = pickOperation(totalWeight);
+                        boolean isMeasured = now >= measureFrom;
+
+                        try {
+                            execute(operation, maxId);
+                            if (isMeasured) recorder.record(operation, System.nanoTime() - now);
+                        } catch (RuntimeException e) {
+                            if (isMeasured) recorder.recordError(operation);
+                        }
+                    }
+
+                    finishedAt.accumulateAndGet(System.nanoTime(), Math::max);
+                } finally {
+                    simpleDb.close();
+                }
+            });
+        }
+
+        executorService.shutdown();
+
+        // 실행 중 최대 커넥션 수 관찰
+        int maxConnectionCount = 0;
+        while (!executorService.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+            maxConnectionCount = Math.max(maxConnectionCount, simpleDb.getConnectionCount());
+        }
+
+        double elapsedSeconds = (finishedAt.get() - measureFrom) / 1_000_000_000.0;
+
+        return toReport(recorders, elapsedSeconds, maxConnectionCount);
+    }
+
+    private ExecutorService newExecutorService() {
+        if (!virtualThreads) return Executors.newFixedThreadPool(threads);
+
+        // 가상 쓰레드는 Java 21 이상에서만 사용 가능
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later", e);
+        }
+    }
+
+    private void prepareTable() {
+        simpleDb.run("""
+                CREATE TABLE IF NOT EXISTS article (
+                    id INT UNSIGNED NOT NULL AUTO_INCREMENT,
+                    PRIMARY KEY(id),
+                    createdDate DATETIME NOT NULL,
+                    modifiedDate DATETIME NOT NULL,
+                    title VARCHAR(100) NOT NULL,
+                    `body` TEXT NOT NULL,
+                    isBlind BIT(1) NOT NULL DEFAULT 0
+                )
+                """);
+
+        long count = simpleDb.selectLong("SELECT COUNT(*) FROM article");
+
+        for (long no = count + 1; no <= seedRows; no++) {
+            insertArticle(no);
+        }
+    }
+
+    private Operation pickOperation(int totalWeight) {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+
+        for (Operation operation : Operation.values()) {
+            value -= weights[operation.ordinal()];
+            if (value < 0) return operation;
+        }
+
+        return Operation.SELECT;
+    }
+
+    private void execute(Operation operation, int maxId) {
+        int id = ThreadLocalRandom.current().nextInt(1, maxId + 1);
+
+        switch (operation) {
+            case SELECT -> simpleDb.genSql()
+                    .append("SELECT * FROM article WHERE id = ?", id)
+                    .selectRow();
+            case INSERT -> insertArticle(id);
+            case UPDATE -> updateArticle(id);
+            case TRANSACTION -> {
+                simpleDb.startTransaction();
+
+                try {
+                    insertArticle(id);
+                    updateArticle(id);
+                    simpleDb.commit();
+                } catch (RuntimeException e) {
+                    simpleDb.rollback();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void insertArticle(long no) {
+        simpleDb.genSql()
+                .append("INSERT INTO article")
+                .append("SET createdDate = NOW()")
+                .append(", modifiedDate = NOW()")
+                .append(", title = ?", "제목%d".formatted(no))
+                .append(", body = ?", "내용%d".formatted(no))
+                .insert();
+    }
+
+    private void updateArticle(int id) {
+        simpleDb.genSql()
+                .append("UPDATE article")
+                .append("SET modifiedDate = NOW()")
+                .append("WHERE id = ?", id)
+                .update();
+    }
+
+    private Report toReport(List<Recorder> recorders, double elapsedSeconds, int maxConnectionCount) {
+        List<OperationStats> operationStats = new ArrayList<>();
+        long totalCount = 0;
+        long totalErrorCount = 0;
+
+        for (Operation operation : Operation.values()) {
+            int i = operation.ordinal();
+
+            long[] latencies = recorders.stream()
+                    .flatMapToLong(recorder -> Arrays.stream(recorder.latencies[i], 0, recorder.counts[i]))
+                    .sorted()
+                    .toArray();
+            long errorCount = recorders.stream().mapToLong(recorder -> recorder.errorCounts[i]).sum();
+
+            operationStats.add(new OperationStats(
+                    operation,
+                    latencies.length,
+                    errorCount,
+                    percentileMillis(latencies, 0.50),
+                    percentileMillis(latencies, 0.95),
+                    percentileMillis(latencies, 0.99),
+                    percentileMillis(latencies, 1.0)
+            ));
+
+            totalCount += latencies.length;
+            totalErrorCount += errorCount;
+        }
+
+        return new Report(threads, elapsedSeconds, totalCount / elapsedSeconds, totalErrorCount, maxConnectionCount, operationStats);
+    }
+
+    private double percentileMillis(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) return 0;
+
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+
+        return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ll.simpleDb;
+
+import com.ll.simpleDb.exception.DatabaseUnavailableException;
+import lombok.Setter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 연결 실패가 연속으로 failureThreshold 번 쌓이면 openMillis 동안 DB 접근을 막는 서킷 브레이커
+// openMillis 가 지나면 한 쓰레드만 시험 연결을 허용하고, 성공하면 다시 닫힌다
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    @Setter
+    private int failureThreshold;
+    @Setter
+    private long openMillis;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean trialInProgress = new AtomicBoolean();
+    private volatile long openedAt;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    public State getState() {
+        if (consecutiveFailures.get() < failureThreshold) return State.CLOSED;
+
+        return System.currentTimeMillis() - openedAt >= openMillis ? State.HALF_OPEN : State.OPEN;
+    }
+
+    void acquirePermission() {
+        State state = getState();
+
+        if (state == State.CLOSED) return;
+        if (state == State.HALF_OPEN && trialInProgress.compareAndSet(false, true)) return;
+
+        throw new DatabaseUnavailableException(
+                "Database unavailable, circuit is open after %d consecutive failures".formatted(consecutiveFailures.get())
+        );
+    }
+
+    // 실패가 없던 닫힌 상태에서는 아무것도 쓰지 않는다 (성공마다 공유 변수에 쓰면 쓰레드 간 경합)
+    void recordSuccess() {
+        if (consecutiveFailures.get() == 0) return;
+
+        consecutiveFailures.set(0);
+        trialInProgress.set(false);
+    }
+
+    void recordFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) openedAt = System.currentTimeMillis();
+        trialInProgress.set(false);
+    }
+}
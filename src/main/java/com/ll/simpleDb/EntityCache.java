@@ -0,0 +1,148 @@
+package com.ll.simpleDb;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// (클래스, 테이블, id) 단위로 조회 결과 row 를 보관하는 캐시
+// 크기를 넘으면 먼저 들어온 항목부터 제거하고, 쓰기가 발생하면 해당 id 또는 테이블 항목을 무효화한다
+// 무효화 시점은 증가하는 순번으로 기록하고, 조회를 시작한 뒤 무효화된 row 는 저장하지 않는다
+public class EntityCache {
+    private record Key(Class<?> cls, String table, Object id) {
+    }
+
+    // row 가 null 이면 id 단위 무효화 표시 (무효화 전에 시작한 조회 결과가 저장되는 것을 막는다)
+    private record Entry(Key key, Map<String, Object> row, long stamp) {
+    }
+
+    private final int maxSize;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    // 테이블 단위, 전체 무효화 순번 (이보다 이른 순번에 조회한 row 는 사용하지 않음)
+    private final Map<String, Long> tableInvalidatedAt = new ConcurrentHashMap<>();
+    private final AtomicLong allInvalidatedAt = new AtomicLong();
+    // 테이블별로 캐시를 사용한 클래스 (id 단위 무효화 대상)
+    private final Map<String, Set<Class<?>>> classesByTable = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public EntityCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    Map<String, Object> get(Class<?> cls, String table, Object id) {
+        Entry entry = entries.get(new Key(cls, table, id));
+
+        if (entry == null || entry.row() == null || isStale(table, entry.stamp())) {
+            missCount.increment();
+            return null;
+        }
+
+        hitCount.increment();
+
+        return entry.row();
+    }
+
+    // 조회 시작 순번 (put 에 그대로 전달)
+    long stamp(Class<?> cls, String table) {
+        classesByTable.computeIfAbsent(table, k -> ConcurrentHashMap.newKeySet()).add(cls);
+
+        return sequence.get();
+    }
+
+    private boolean isStale(String table, long stamp) {
+        return stamp < allInvalidatedAt.get() || stamp < tableInvalidatedAt.getOrDefault(table, 0L);
+    }
+
+    // 조회를 시작한 뒤 무효화가 없었을 때만 저장한다
+    void put(Class<?> cls, String table, Object id, Map<String, Object> row, long stamp) {
+        if (isStale(table, stamp)) return;
+
+        Key key = new Key(cls, table, id);
+        Entry entry = new Entry(key, row, stamp);
+
+        if (entries.compute(key, (k, old) -> old != null && stamp < old.stamp() ? old : entry) != entry) return;
+
+        enqueue(entry);
+        evictOverflow();
+    }
+
+    private void enqueue(Entry entry) {
+        insertionOrder.add(entry);
+        queuedCount.incrementAndGet();
+    }
+
+    // 무효화로 교체된 항목도 큐에 남으므로 큐 길이도 함께 제한한다
+    private void evictOverflow() {
+        while (entries.size() > maxSize || queuedCount.get() > maxSize * 2) {
+            Entry oldest = insertionOrder.poll();
+            if (oldest == null) return;
+
+            queuedCount.decrementAndGet();
+
+            if (entries.remove(oldest.key(), oldest) && oldest.row() != null) evictionCount.increment();
+        }
+    }
+
+    void invalidate(String table, Object id) {
+        Set<Class<?>> classes = classesByTable.get(table);
+        if (classes == null) return;
+
+        long stamp = sequence.incrementAndGet();
+
+        for (Class<?> cls : classes) {
+            Key key = new Key(cls, table, id);
+            Entry tombstone = new Entry(key, null, stamp);
+
+            entries.put(key, tombstone);
+            enqueue(tombstone);
+        }
+
+        evictOverflow();
+    }
+
+    void invalidateTable(String table) {
+        long stamp = sequence.incrementAndGet();
+
+        tableInvalidatedAt.merge(table, stamp, Math::max);
+    }
+
+    void invalidateAll() {
+        allInvalidatedAt.accumulateAndGet(sequence.incrementAndGet(), Math::max);
+        entries.clear();
+        insertionOrder.clear();
+        queuedCount.set(0);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public double getHitRatio() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,208 @@
+package com.ll.simpleDb;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// 조회 결과 한 행
+// 컬럼 이름/인덱스 정보(Columns)는 같은 ResultSet 의 모든 행이 공유하고, 값은 배열 하나에만 보관한다
+// TEXT 같은 큰 문자열 컬럼은 바이트 그대로 두었다가 처음 읽을 때 문자열로 변환한다
+// 컬럼에 없는 키 추가, 키 삭제도 일반 Map 처럼 가능 (추가한 키는 별도 Map, 삭제한 컬럼은 표시만 해 둔다)
+public class Row extends AbstractMap<String, Object> {
+    // 아직 문자열로 변환하지 않은 UTF-8 바이트 (커넥션의 characterSetResults 를 UTF-8 로 고정)
+    static final class LazyText {
+        private final byte[] bytes;
+
+        LazyText(byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+
+    public static class Columns {
+        private final String[] names;
+        private final Map<String, Integer> indexes;
+
+        public Columns(String[] names) {
+            this.names = names;
+            this.indexes = new HashMap<>(names.length * 2);
+
+            // 같은 라벨이 여러 번 나오면 마지막 컬럼 값을 사용 (LinkedHashMap.put 과 동일)
+            for (int i = 0; i < names.length; i++) {
+                indexes.put(names[i], i);
+            }
+        }
+
+        public int size() {
+            return names.length;
+        }
+
+        private int indexOf(Object name) {
+            Integer index = indexes.get(name);
+
+            return index == null ? -1 : index;
+        }
+    }
+
+    private final Columns columns;
+    private final Object[] values;
+    // 삭제된 컬럼, 컬럼 외에 추가된 키 (변경이 있을 때만 생성)
+    private boolean[] removed;
+    private Map<String, Object> extras;
+
+    public Row(Columns columns, Object[] values) {
+        this.columns = columns;
+        this.values = values;
+    }
+
+    // 현재 보이는 컬럼의 인덱스 (없거나 삭제된 컬럼이면 -1)
+    private int visibleIndexOf(Object key) {
+        int index = columns.indexOf(key);
+
+        return index == -1 || (removed != null && removed[index]) ? -1 : index;
+    }
+
+    private Object valueAt(int index) {
+        Object value = values[index];
+
+        if (value instanceof LazyText lazyText) {
+            value = new String(lazyText.bytes, StandardCharsets.UTF_8);
+            values[index] = value;
+        }
+
+        return value;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = visibleIndexOf(key);
+        if (index != -1) return valueAt(index);
+
+        return extras == null ? null : extras.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return visibleIndexOf(key) != -1 || (extras != null && extras.containsKey(key));
+    }
+
+    @Override
+    public int size() {
+        int size = columns.indexes.size() + (extras == null ? 0 : extras.size());
+        if (removed == null) return size;
+
+        for (int index : columns.indexes.values()) {
+            if (removed[index]) size--;
+        }
+
+        return size;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int index = columns.indexOf(key);
+
+        if (index == -1) {
+            if (extras == null) extras = new LinkedHashMap<>();
+
+            return extras.put(key, value);
+        }
+
+        Object oldValue = visibleIndexOf(key) == -1 ? null : valueAt(index);
+        values[index] = value;
+        if (removed != null) removed[index] = false;
+
+        return oldValue;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int index = visibleIndexOf(key);
+        if (index == -1) return extras == null ? null : extras.remove(key);
+
+        Object oldValue = valueAt(index);
+        removeAt(index);
+
+        return oldValue;
+    }
+
+    private void removeAt(int index) {
+        if (removed == null) removed = new boolean[values.length];
+
+        removed[index] = true;
+        values[index] = null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int index = nextIndex(0);
+                    private int current = -1;
+                    // 컬럼을 모두 돈 뒤에는 추가된 키를 순회
+                    private Iterator<Entry<String, Object>> extrasIterator;
+
+                    // 중복 라벨은 마지막 컬럼만, 삭제된 컬럼은 제외하고 노출
+                    private int nextIndex(int from) {
+                        while (from < columns.names.length && visibleIndexOf(columns.names[from]) != from) from++;
+
+                        return from;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        if (index < columns.names.length) return true;
+                        if (extrasIterator == null && extras != null) extrasIterator = extras.entrySet().iterator();
+
+                        return extrasIterator != null && extrasIterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+
+                        if (index >= columns.names.length) {
+                            current = -1;
+
+                            return extrasIterator.next();
+                        }
+
+                        int columnIndex = index;
+                        current = columnIndex;
+                        index = nextIndex(index + 1);
+
+                        return new SimpleEntry<>(columns.names[columnIndex], valueAt(columnIndex)) {
+                            @Override
+                            public Object setValue(Object value) {
+                                super.setValue(value);
+
+                                Object oldValue = valueAt(columnIndex);
+                                values[columnIndex] = value;
+
+                                return oldValue;
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (extrasIterator != null && current == -1) {
+                            extrasIterator.remove();
+                            return;
+                        }
+
+                        if (current == -1) throw new IllegalStateException();
+
+                        removeAt(current);
+                        current = -1;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return Row.this.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package com.ll.simpleDb;
+
+import com.ll.simpleDb.exception.NoDataException;
+import com.ll.simpleDb.exception.SimpleDbException;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+// 여러 MySQL 노드(샤드)에 나눠 저장된 테이블을 하나의 SimpleDb 처럼 사용
+// 샤드 키가 있으면 한 샤드로, 없으면 모든 샤드에 병렬로 보내고 결과를 합친다
+// 병렬 실행은 샤드마다 계속 유지되는 작업 쓰레드에서 하므로, 쓰레드별 커넥션이 호출마다 새로 열리지 않고 재사용된다
+public class ShardedSimpleDb {
+    private static final AtomicInteger instanceCounter = new AtomicInteger();
+
+    @Getter
+    private final List<SimpleDb> shards;
+    // 샤드 키 -> 샤드 번호
+    private final ToIntFunction<Object> shardKeyFunction;
+    private final boolean isDefaultShardKeyFunction;
+    private final AtomicInteger insertCounter = new AtomicInteger();
+    // 샤드별 작업 쓰레드 (일정 시간 쉬면 종료되며, 종료 시 해당 쓰레드의 커넥션을 닫는다)
+    private final List<ThreadPoolExecutor> shardExecutors;
+
+    // 기본 샤드 함수: (id - 1) % 샤드 수
+    public ShardedSimpleDb(List<SimpleDb> shards) {
+        this(shards, null);
+    }
+
+    // 각 샤드의 AUTO_INCREMENT 를 (샤드 수) 간격, (샤드 번호 + 1) 시작으로 맞춰 두므로
+    // 어느 샤드에서 생성된 id 든 샤드 간에 겹치지 않고, 기본 샤드 함수로 다시 원래 샤드를 찾을 수 있다
+    // 이 설정은 전달받은 SimpleDb 에 커넥션 초기화 SQL 로 추가되어 이후 열리는 커넥션에만 적용되므로,
+    // 이미 커넥션을 연 SimpleDb 는 샤드로 사용할 수 없다 (샤드 전용으로 새로 만든 SimpleDb 를 전달)
+    public ShardedSimpleDb(List<SimpleDb> shards, ToIntFunction<Object> shardKeyFunction) {
+        for (SimpleDb shard : shards) {
+            if (shard.hasOpenConnections()) {
+                throw new IllegalArgumentException("Shard SimpleDb must not have open connections");
+            }
+        }
+
+        this.shards = List.copyOf(shards);
+        this.shardKeyFunction = shardKeyFunction != null ? shardKeyFunction : this::defaultShardIndex;
+        this.isDefaultShardKeyFunction = shardKeyFunction == null;
+
+        int instanceNo = instanceCounter.incrementAndGet();
+        this.shardExecutors = IntStream.range(0, this.shards.size())
+                .mapToObj(i -> newShardExecutor(instanceNo, i))
+                .toList();
+
+        for (int i = 0; i < shards.size(); i++) {
+            shards.get(i).addConnectionInitSql(
+                    "SET @@SESSION.auto_increment_increment = %d, @@SESSION.auto_increment_offset = %d".formatted(shards.size(), i + 1)
+            );
+        }
+    }
+
+    // 범위 기반 샤드 함수: 키가 upperBounds[i] 미만인 첫 번째 i 번 샤드 (마지막 샤드는 나머지 전부)
+    public static ToIntFunction<Object> rangeShardKeyFunction(long... upperBounds) {
+        return key -> {
+            long value = ((Number) key).longValue();
+
+            for (int i = 0; i < upperBounds.length; i++) {
+                if (value < upperBounds[i]) return i;
+            }
+
+            return upperBounds.length;
+        };
+    }
+
+    private ThreadPoolExecutor newShardExecutor(int instanceNo, int shardIndex) {
+        SimpleDb shard = shards.get(shardIndex);
+
+        return WorkerPools.newWorkerPool(
+                "sharded-simple-db-%d-shard-%d-worker-".formatted(instanceNo, shardIndex),
+                Runtime.getRuntime().availableProcessors(),
+                shard::clearCurrentThreadConnection
+        );
+    }
+
+    // 샤드마다 동시에 사용할 최대 커넥션 수 (기본값: CPU 코어 수)
+    public void setMaxParallelism(int maxParallelism) {
+        shardExecutors.forEach(executor -> WorkerPools.resize(executor, maxParallelism));
+    }
+
+    private int defaultShardIndex(Object key) {
+        if (key instanceof Number number) return (int) Math.floorMod(number.longValue() - 1, (long) shards.size());
+
+        return Math.floorMod(key.hashCode(), shards.size());
+    }
+
+    public SimpleDb getShard(Object shardKey) {
+        return shards.get(shardKeyFunction.applyAsInt(shardKey));
+    }
+
+    // 샤드 키 없는 insert 를 보낼 샤드 (라운드 로빈)
+    // 생성된 id 로 다시 같은 샤드를 찾을 수 있는 것은 기본 샤드 함수뿐이므로, 사용자 샤드 함수에서는 샤드 키가 필요하다
+    SimpleDb nextInsertShard() {
+        if (!isDefaultShardKeyFunction) {
+            throw new IllegalStateException("Shard key is required for insert when a custom shard key function is used");
+        }
+
+        return shards.get(Math.floorMod(insertCounter.getAndIncrement(), shards.size()));
+    }
+
+    public ShardedSql genSql() {
+        return new ShardedSql(this);
+    }
+
+    // 모든 샤드에 같은 SQL 을 병렬로 실행하고, 샤드 순서대로 결과를 모은다
+    <T> List<T> scatter(Function<SimpleDb, T> action) {
+        List<Future<T>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < shards.size(); i++) {
+                SimpleDb shard = shards.get(i);
+                futures.add(shardExecutors.get(i).submit(() -> action.apply(shard)));
+            }
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+
+            return results;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new SimpleDbException("Sharded query failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SimpleDbException("Sharded query interrupted", e);
+        } finally {
+            // 실패한 경우 아직 시작하지 않은 샤드 작업은 실행하지 않는다
+            futures.forEach(future -> future.cancel(false));
+        }
+    }
+
+    // 샤드별 selectRows 결과를 모은다 (결과가 없는 샤드는 빈 목록)
+    List<Map<String, Object>> scatterSelectRows(String sql, Object[] params) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+
+        for (List<Map<String, Object>> shardRows : scatter(shard -> {
+            try {
+                return shard.selectRows(sql, params);
+            } catch (NoDataException e) {
+                return List.<Map<String, Object>>of();
+            }
+        })) {
+            rows.addAll(shardRows);
+        }
+
+        return rows;
+    }
+
+    // 현재 쓰레드가 각 샤드에 연 커넥션과 작업 쓰레드 해제 (모든 작업이 끝난 뒤 호출)
+    public void close() {
+        shardExecutors.forEach(ExecutorService::shutdown);
+        shards.forEach(SimpleDb::close);
+    }
+}
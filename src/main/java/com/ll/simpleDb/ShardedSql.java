@@ -0,0 +1,227 @@
+package com.ll.simpleDb;
+
+import com.ll.simpleDb.exception.NoDataException;
+import com.ll.simpleDb.standard.util.Ut;
+
+import java.time.LocalDateTime;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// ShardedSimpleDb 용 Sql
+// shardKey 를 지정하면 해당 샤드의 Sql 로 그대로 위임하고,
+// 지정하지 않은 SELECT 는 모든 샤드에서 조회한 뒤 ORDER BY, LIMIT 을 클라이언트에서 다시 적용한다
+public class ShardedSql {
+    // 끝부분의 ORDER BY 컬럼 목록, LIMIT [offset,] count (LIMIT 은 숫자 리터럴만 지원)
+    private static final Pattern ORDER_BY_LIMIT_PATTERN = Pattern.compile(
+            "(?is)^(.*?)(?:\\s+ORDER\\s+BY\\s+([`\\w.]+(?:\\s+(?:ASC|DESC))?(?:\\s*,\\s*[`\\w.]+(?:\\s+(?:ASC|DESC))?)*))?(?:\\s+LIMIT\\s+(\\d+)(?:\\s*,\\s*(\\d+))?)?\\s*$"
+    );
+    private static final Pattern PARENTHESES_PATTERN = Pattern.compile("\\([^()]*\\)");
+    private static final Pattern ORDER_BY_OR_LIMIT_PATTERN = Pattern.compile("(?i)\\b(?:ORDER\\s+BY|LIMIT)\\b");
+
+    private final ShardedSimpleDb shardedSimpleDb;
+    private final StringBuilder sqlFormat;
+    private final List<Object> params;
+    private Object shardKey;
+
+    public ShardedSql(ShardedSimpleDb shardedSimpleDb) {
+        this.shardedSimpleDb = shardedSimpleDb;
+        this.sqlFormat = new StringBuilder();
+        this.params = new ArrayList<>();
+    }
+
+    public ShardedSql shardKey(Object shardKey) {
+        this.shardKey = shardKey;
+
+        return this;
+    }
+
+    public ShardedSql append(String sqlBit, Object... params) {
+        this.sqlFormat.append("\n" + sqlBit);
+
+        for (Object param : params) {
+            this.params.add(param);
+        }
+
+        return this;
+    }
+
+    public ShardedSql appendIn(String sqlBit, Object... params) {
+        String inClause = IntStream.range(0, params.length)
+                .mapToObj(i -> "?")
+                .collect(Collectors.joining(", "));
+
+        sqlBit = sqlBit.replace("?", inClause);
+
+        return append(sqlBit, params);
+    }
+
+    private String toSql() {
+        return sqlFormat.toString();
+    }
+
+    // 샤드 키가 가리키는 샤드의 Sql
+    private Sql shardSql() {
+        if (shardKey == null) throw new IllegalStateException("Shard key is required for this query");
+
+        return toShardSql(shardedSimpleDb.getShard(shardKey));
+    }
+
+    private Sql toShardSql(SimpleDb shard) {
+        return shard.genSql().append(toSql(), params.toArray());
+    }
+
+    // 샤드 키가 없으면 라운드 로빈으로 고른 샤드에 저장 (id 는 샤드 간에 겹치지 않음)
+    public long insert() {
+        if (shardKey == null) return toShardSql(shardedSimpleDb.nextInsertShard()).insert();
+
+        return shardSql().insert();
+    }
+
+    // 샤드 키가 없으면 모든 샤드에 실행하고 영향받은 row 수를 합산
+    public int update() {
+        if (shardKey == null) {
+            return shardedSimpleDb.scatter(shard -> toShardSql(shard).update()).stream().mapToInt(Integer::intValue).sum();
+        }
+
+        return shardSql().update();
+    }
+
+    public int delete() {
+        if (shardKey == null) {
+            return shardedSimpleDb.scatter(shard -> toShardSql(shard).delete()).stream().mapToInt(Integer::intValue).sum();
+        }
+
+        return shardSql().delete();
+    }
+
+    public List<Map<String, Object>> selectRows() {
+        if (shardKey != null) return shardSql().selectRows();
+
+        return scatterGather();
+    }
+
+    public Map<String, Object> selectRow() {
+        if (shardKey != null) return shardSql().selectRow();
+
+        List<Map<String, Object>> rows = scatterGather();
+        if (rows.isEmpty()) throw new NoDataException("No data found");
+
+        return rows.get(0);
+    }
+
+    public LocalDateTime selectDatetime() {
+        return shardSql().selectDatetime();
+    }
+
+    public long selectLong() {
+        return shardSql().selectLong();
+    }
+
+    public String selectString() {
+        return shardSql().selectString();
+    }
+
+    public boolean selectBoolean() {
+        return shardSql().selectBoolean();
+    }
+
+    public List<Long> selectLongs() {
+        if (shardKey != null) return shardSql().selectLongs();
+
+        return scatterGather()
+                .stream()
+                .map(row -> (Long) row.values().iterator().next())
+                .toList();
+    }
+
+    public <T> List<T> selectRows(Class<?> cls) {
+        return selectRows()
+                .stream()
+                .map(row -> (T) Ut.mapper.mapToObj(row, cls))
+                .toList();
+    }
+
+    public <T> T selectRow(Class<?> cls) {
+        return (T) Ut.mapper.mapToObj(selectRow(), cls);
+    }
+
+    // 모든 샤드에서 조회 후 병합
+    // 각 샤드에는 LIMIT offset, count 대신 LIMIT offset + count 를 보내고, 병합 결과를 정렬한 뒤 offset, count 를 적용한다
+    private List<Map<String, Object>> scatterGather() {
+        String sql = toSql().trim();
+        Matcher matcher = ORDER_BY_LIMIT_PATTERN.matcher(sql);
+
+        if (!matcher.matches()) return shardedSimpleDb.scatterSelectRows(sql, params.toArray());
+
+        // 남은 부분에 괄호 밖 ORDER BY, LIMIT 이 있다면 클라이언트에서 다시 적용할 수 없는 형태
+        if (ORDER_BY_OR_LIMIT_PATTERN.matcher(removeParentheses(matcher.group(1))).find()) {
+            throw new IllegalArgumentException("Unsupported ORDER BY or LIMIT for scatter-gather query: " + sql);
+        }
+
+        String orderBy = matcher.group(2);
+        long offset = matcher.group(4) == null ? 0 : Long.parseLong(matcher.group(3));
+        Long count = matcher.group(3) == null ? null : Long.parseLong(matcher.group(4) == null ? matcher.group(3) : matcher.group(4));
+
+        String shardSql = matcher.group(1)
+                + (orderBy == null ? "" : "\nORDER BY " + orderBy)
+                + (count == null ? "" : "\nLIMIT " + (offset + count));
+
+        List<Map<String, Object>> rows = new ArrayList<>(shardedSimpleDb.scatterSelectRows(shardSql, params.toArray()));
+
+        if (orderBy != null) rows.sort(toComparator(orderBy));
+
+        return rows
+                .stream()
+                .skip(offset)
+                .limit(count == null ? Long.MAX_VALUE : count)
+                .toList();
+    }
+
+    private String removeParentheses(String sql) {
+        String removed = sql;
+
+        do {
+            sql = removed;
+            removed = PARENTHESES_PATTERN.matcher(sql).replaceAll("");
+        } while (!removed.equals(sql));
+
+        return removed;
+    }
+
+    // ORDER BY 컬럼 목록을 Row 비교기로 변환 (MySQL 과 같이 NULL 은 ASC 에서 앞, DESC 에서 뒤)
+    // 문자열은 MySQL 이 컬럼 collation(대소문자, 악센트 무시 등) 으로 정렬하므로 Java 에서 같은 순서를 보장할 수 없어 지원하지 않는다
+    private Comparator<Map<String, Object>> toComparator(String orderBy) {
+        Comparator<Map<String, Object>> comparator = (a, b) -> 0;
+
+        for (String item : orderBy.split(",")) {
+            String[] bits = item.trim().split("\\s+");
+            String column = bits[0].substring(bits[0].lastIndexOf('.') + 1).replace("`", "");
+            boolean isDesc = bits.length > 1 && bits[1].equalsIgnoreCase("DESC");
+
+            Comparator<Map<String, Object>> columnComparator = Comparator.comparing(
+                    row -> toSortKey(column, row.get(column)),
+                    Comparator.nullsFirst(Comparator.naturalOrder())
+            );
+
+            comparator = comparator.thenComparing(isDesc ? columnComparator.reversed() : columnComparator);
+        }
+
+        return comparator;
+    }
+
+    private Comparable<Object> toSortKey(String column, Object value) {
+        if (value == null || value instanceof Number || value instanceof Temporal || value instanceof Date || value instanceof Boolean) {
+            return (Comparable<Object>) value;
+        }
+
+        throw new IllegalArgumentException("Scatter-gather ORDER BY supports only numeric and date/time columns: " + column);
+    }
+}
@@ -1,65 +1,417 @@
 package com.ll.simpleDb;
 
+import com.ll.simpleDb.exception.ConnectionLostException;
+import com.ll.simpleDb.exception.NoDataException;
+import com.ll.simpleDb.exception.QueryCancelledException;
+import com.ll.simpleDb.exception.QueryTimeoutException;
+import com.ll.simpleDb.exception.SimpleDbException;
+import com.ll.simpleDb.exception.SqlExceptionTranslator;
 import com.ll.simpleDb.standard.util.Ut;
+import com.mysql.cj.jdbc.JdbcConnection;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
 import java.sql.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 public class SimpleDb {
+    private static final Pattern SELECT_BY_ID_PATTERN = Pattern.compile(
+            "(?i)^SELECT\\s+\\*\\s+FROM\\s+`?(\\w+)`?\\s+WHERE\\s+`?id`?\\s*=\\s*(\\?|\\d+)$"
+    );
+    // 테이블 하나에서 조회하는 `SELECT * FROM 테이블 [별칭] [WHERE ...]` (JOIN, 쉼표 조인, UNION 은 컬럼이 클래스 필드와 다를 수 있어 제외)
+    private static final Pattern SELECT_ALL_PATTERN = Pattern.compile(
+            "(?is)^(?!.*\\bUNION\\b)(SELECT\\s+)\\*(\\s+FROM\\s+`?\\w+`?(?:\\s+(?:AS\\s+)?\\w+)?(?:\\s+(?:WHERE|GROUP|HAVING|ORDER|LIMIT|FOR)\\b.*)?)$"
+    );
+    private static final Pattern WRITE_TABLE_PATTERN = Pattern.compile(
+            "(?i)^(?:UPDATE|INSERT\\s+(?:IGNORE\\s+)?INTO|REPLACE\\s+INTO|DELETE\\s+FROM|TRUNCATE(?:\\s+TABLE)?)\\s+`?(\\w+)`?"
+    );
+    // 조건이 `id = ?` 하나뿐인 UPDATE, DELETE
+    private static final Pattern WRITE_BY_ID_PATTERN = Pattern.compile(
+            "(?is)^(?:UPDATE\\s+`?\\w+`?\\s+SET\\s.+|DELETE\\s+FROM\\s+`?\\w+`?)\\s+WHERE\\s+`?id`?\\s*=\\s*(\\?|\\d+)$"
+    );
+    // 기존 row 를 바꾸지 않는 INSERT (ON DUPLICATE KEY UPDATE 제외)
+    private static final Pattern INSERT_ONLY_PATTERN = Pattern.compile("(?is)^INSERT\\s(?!.*\\bON\\s+DUPLICATE\\s+KEY\\b).*$");
+    // 커밋 때 테이블을 알 수 없는 쓰기가 있었음을 나타내는 표시
+    private static final String UNKNOWN_TABLE = "*";
+    // 커넥션마다 서버에 prepare 해 둘 최대 statement 수 (서버 전체 max_prepared_stmt_count 를 넘지 않도록 제한)
+    private static final int MAX_SERVER_STATEMENTS_PER_CONNECTION = 100;
+
+    private static final AtomicInteger instanceCounter = new AtomicInteger();
+
     private final String host;
     private final String username;
     private final String password;
     private final String dbName;
-    private Map<String, Connection> connections = new HashMap<>();
+    private Map<String, Connection> connections = new ConcurrentHashMap<>();
+    // 개발 모드에서는 실행하는 SQL 을 출력 (부하 테스트, 배포 환경에서는 false 로 설정)
+    @Setter
+    private boolean devMode = true;
+    // 병렬 조회 시 동시에 사용할 최대 커넥션 수 (DB 부하 제한)
+    private int maxParallelism = Runtime.getRuntime().availableProcessors();
+    // 병렬 조회 구간을 실행하는 작업 쓰레드 (호출마다 새로 만들지 않아 쓰레드별 커넥션이 재사용된다)
+    private final ThreadPoolExecutor parallelExecutor = WorkerPools.newWorkerPool(
+            "simple-db-%d-parallel-worker-".formatted(instanceCounter.incrementAndGet()),
+            maxParallelism,
+            this::clearCurrentThreadConnection
+    );
+    // id 단건 조회 결과 캐시 (enableEntityCache 호출 시에만 사용)
+    @Getter
+    private EntityCache entityCache;
+    // 클래스로 조회할 때 `SELECT *` 를 클래스 필드 컬럼만 조회하도록 변경
+    @Setter
+    private boolean autoProjection = false;
+    private final Map<Class<?>, String> projectionColumns = new ConcurrentHashMap<>();
+    // warmUp 때 미리 열어 둘 커넥션 수와, 미리 열린 채 쓰레드 배정을 기다리는 커넥션
+    @Setter
+    private int warmUpConnectionCount = 0;
+    private final Queue<Connection> idleConnections = new ConcurrentLinkedQueue<>();
+    // warmUp 때 미리 준비할 SQL, 엔티티 클래스
+    private final List<String> hotSqls = new CopyOnWriteArrayList<>();
+    private final List<Class<?>> entityClasses = new CopyOnWriteArrayList<>();
+    // 커넥션을 열 때마다 실행할 SQL (세션 변수 설정 등)
+    private final List<String> connectionInitSqls = new CopyOnWriteArrayList<>();
+    // 커넥션별로 서버에 prepare 해 두고 재사용하는 statement (등록되었거나 자주 실행되는 SQL 만, SQL -> statement)
+    private final Map<Connection, Map<String, PreparedStatement>> serverStatements = new ConcurrentHashMap<>();
+    // 이 시간 이상 쉬었던 커넥션은 사용 전에 isValid 로 확인
+    @Setter
+    private long validationIdleMillis = 30_000;
+    private final Map<String, Long> connectionLastUsedAt = new ConcurrentHashMap<>();
+    // 트랜잭션 진행 중인 쓰레드
+    private final Set<String> transactionThreadNames = ConcurrentHashMap.newKeySet();
+    // 트랜잭션 중 쓰기가 발생한 테이블 (commit 때 캐시 무효화)
+    private final Map<String, Set<String>> transactionWrittenTables = new ConcurrentHashMap<>();
+    // 연결 실패가 이어지면 DB 접근을 잠시 막고 바로 실패 처리
+    @Getter
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(5, 10_000);
+    // 쿼리 타임아웃 기본값 (초, 0 이면 제한 없음)
+    @Setter
+    private int defaultQueryTimeoutSeconds = 0;
+    // 쓰레드별 마감 시각 (System.nanoTime 기준) 과 실행 중인 Sql
+    private final Map<String, Long> deadlines = new ConcurrentHashMap<>();
+    private final Map<String, Sql> runningSqls = new ConcurrentHashMap<>();
+    private final LongAdder timedOutQueryCount = new LongAdder();
+    private final LongAdder cancelledQueryCount = new LongAdder();
+    // SQL 모양별 실행 통계 (fetch size, statement 캐시 힌트 결정에 사용)
+    @Getter
+    private final SqlShapes sqlShapes = new SqlShapes();
 
-    // 현재는 항상 true로 설정 (개발 환경 확인)
     private boolean isNotProdMode() {
-        return true; // 배포 환경에서 false로 설정할 수 있음
+        return devMode;
+    }
+
+    public void setMaxParallelism(int maxParallelism) {
+        this.maxParallelism = maxParallelism;
+        WorkerPools.resize(parallelExecutor, maxParallelism);
+    }
+
+    // 쓰레드에 배정된 커넥션 수
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    // 쓰레드에 배정되었거나 warmUp 으로 열어 둔 커넥션이 있는지 (이후 추가한 커넥션 초기화 SQL 이 적용되지 않는 커넥션)
+    boolean hasOpenConnections() {
+        return !connections.isEmpty() || !idleConnections.isEmpty();
     }
 
     private Connection getCurrentThreadConnection() {
-        Connection connection = connections.get(Thread.currentThread().getName());
+        String threadName = Thread.currentThread().getName();
+        Connection connection = connections.get(threadName);
+        Long lastUsedAt = connectionLastUsedAt.put(threadName, System.currentTimeMillis());
+
+        // 오래 쉰 커넥션은 서버가 끊었을 수 있으므로 확인 후 재연결
+        if (connection != null && lastUsedAt != null && System.currentTimeMillis() - lastUsedAt >= validationIdleMillis && !isValid(connection)) {
+            discardCurrentThreadConnection();
+            connection = null;
+        }
 
         if (connection != null) return connection;
 
-        String url = String.format("jdbc:mysql://%s/%s?useSSL=false", host, dbName);
+        // 트랜잭션 중 커넥션이 끊겼다면 새 커넥션(autocommit)으로 이어서 실행하지 않고 rollback 될 때까지 실패 처리
+        if (transactionThreadNames.contains(threadName)) {
+            throw new ConnectionLostException("Connection lost during transaction");
+        }
+
+        connection = idleConnections.poll();
+        while (connection != null && !isValid(connection)) {
+            closeQuietly(connection);
+            connection = idleConnections.poll();
+        }
+        if (connection == null) connection = openConnection();
+
+        connections.put(threadName, connection);
+        connectionLastUsedAt.put(threadName, System.currentTimeMillis());
+
+        return connection;
+    }
+
+    private boolean isValid(Connection connection) {
         try {
-            connection = DriverManager.getConnection(url, username, password);
+            return connection.isValid(2);
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to connect to database: " + e.getMessage(), e);
+            return false;
         }
+    }
 
-        connections.put(Thread.currentThread().getName(), connection);
+    private Connection openConnection() {
+        circuitBreaker.acquirePermission();
 
-        return connection;
+        // 기본은 클라이언트 prepare (실행 한 번에 왕복 한 번), 자주 실행되는 SQL 만 serverStatement 로 서버에 prepare
+        // 결과 문자열은 컬럼 charset 과 관계없이 UTF-8 로 받는다 (TEXT 컬럼을 바이트로 받아 UTF-8 로 변환하므로)
+        String url = String.format("jdbc:mysql://%s/%s?useSSL=false&characterSetResults=UTF-8", host, dbName);
+        try {
+            Connection connection = DriverManager.getConnection(url, username, password);
+            circuitBreaker.recordSuccess();
+
+            try (Statement statement = connection.createStatement()) {
+                for (String connectionInitSql : connectionInitSqls) {
+                    statement.execute(connectionInitSql);
+                }
+            } catch (SQLException e) {
+                connection.close();
+                throw SqlExceptionTranslator.translate("Failed to initialize connection", e);
+            }
+
+            return connection;
+        } catch (SQLException e) {
+            circuitBreaker.recordFailure();
+            throw SqlExceptionTranslator.translate("Failed to connect to database", e);
+        }
     }
 
-    private void clearCurrentThreadConnection() {
+    // 현재 쓰레드의 커넥션만 해제 (병렬 조회 작업 쓰레드 정리용)
+    void clearCurrentThreadConnection() {
         Connection connection = connections.get(Thread.currentThread().getName());
 
         if (connection == null) return;
 
         try {
-            connection.close();
+            closeConnection(connection);
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to close database connection: " + e.getMessage(), e);
+            throw SqlExceptionTranslator.translate("Failed to close database connection", e);
         } finally {
             connections.remove(Thread.currentThread().getName());
+            connectionLastUsedAt.remove(Thread.currentThread().getName());
+            transactionThreadNames.remove(Thread.currentThread().getName());
+            transactionWrittenTables.remove(Thread.currentThread().getName());
         }
     }
 
-    // 자원 해제
+    // 끊긴 커넥션 폐기 (트랜잭션 상태는 rollback/commit 호출 시 정리)
+    private void discardCurrentThreadConnection() {
+        Connection connection = connections.remove(Thread.currentThread().getName());
+        connectionLastUsedAt.remove(Thread.currentThread().getName());
+
+        if (connection == null) return;
+
+        closeQuietly(connection);
+    }
+
+    // 서버에 prepare 해 둔 statement 는 커넥션을 닫을 때 함께 닫힌다
+    private void closeConnection(Connection connection) throws SQLException {
+        serverStatements.remove(connection);
+        connection.close();
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            closeConnection(connection);
+        } catch (SQLException ignored) {
+        }
+    }
+
+    // 현재 쓰레드의 커넥션 해제
     public void close() {
         clearCurrentThreadConnection();
     }
 
+    // 인스턴스 전체 자원 해제 (모든 쓰레드의 커넥션, warmUp 으로 열어 둔 커넥션, 병렬 조회 작업 쓰레드)
+    // 다른 쓰레드가 사용 중인 커넥션도 닫으므로 모든 작업이 끝난 뒤 호출
+    public void shutdown() {
+        parallelExecutor.shutdown();
+
+        Connection idleConnection;
+        while ((idleConnection = idleConnections.poll()) != null) {
+            closeQuietly(idleConnection);
+        }
+
+        for (String threadName : connections.keySet()) {
+            Connection connection = connections.remove(threadName);
+            if (connection != null) closeQuietly(connection);
+        }
+
+        connectionLastUsedAt.clear();
+        transactionThreadNames.clear();
+        transactionWrittenTables.clear();
+    }
+
+    public void enableEntityCache(int maxSize) {
+        entityCache = new EntityCache(maxSize);
+    }
+
+    private boolean isInTransaction() {
+        return transactionThreadNames.contains(Thread.currentThread().getName());
+    }
+
+    public void addConnectionInitSql(String sql) {
+        connectionInitSqls.add(sql);
+    }
+
+    // warmUp 때 미리 서버에 prepare 하고, 실행 통계와 관계없이 서버 prepare 한 statement 를 재사용할 SQL
+    public void registerHotSql(String sql) {
+        hotSqls.add(sql.trim());
+        sqlShapes.get(sql.trim()).pin();
+    }
+
+    public void registerEntityClass(Class<?> cls) {
+        entityClasses.add(cls);
+    }
+
+    // 커넥션, SQL, 매퍼를 미리 준비하고 단계별 소요 시간(ms)을 반환
+    public Map<String, Long> warmUp() {
+        Map<String, Long> elapsedMillis = new LinkedHashMap<>();
+
+        long startedAt = System.nanoTime();
+        openIdleConnections();
+        elapsedMillis.put("connections", (System.nanoTime() - startedAt) / 1_000_000);
+
+        // 미리 연 커넥션마다 서버에 prepare 해 두면 첫 실행부터 재사용된다
+        startedAt = System.nanoTime();
+        for (Connection idleConnection : idleConnections) {
+            prepareHotSqls(idleConnection);
+        }
+        selectLong("SELECT 1");
+        prepareHotSqls(getCurrentThreadConnection());
+        elapsedMillis.put("sqls", (System.nanoTime() - startedAt) / 1_000_000);
+
+        // 빈 Map 변환으로 ObjectMapper 초기화 및 클래스별 역직렬화기 생성
+        startedAt = System.nanoTime();
+        for (Class<?> cls : entityClasses) {
+            Ut.mapper.mapToObj(Map.of(), cls);
+        }
+        elapsedMillis.put("mappers", (System.nanoTime() - startedAt) / 1_000_000);
+
+        if (isNotProdMode()) {
+            System.out.println("== warmUp ==");
+            System.out.println(elapsedMillis);
+        }
+
+        return elapsedMillis;
+    }
+
+    private void prepareHotSqls(Connection connection) {
+        try {
+            for (String hotSql : hotSqls) {
+                serverStatement(connection, hotSql);
+            }
+        } catch (SQLException e) {
+            throw SqlExceptionTranslator.translate("Failed to prepare hot sql", e);
+        }
+    }
+
+    // warmUpConnectionCount 만큼 커넥션을 병렬로 열어 둔다
+    private void openIdleConnections() {
+        int count = warmUpConnectionCount - idleConnections.size();
+        if (count <= 0) return;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.min(count, maxParallelism));
+
+        try {
+            List<Future<Connection>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                futures.add(executorService.submit(this::openConnection));
+            }
+
+            for (Future<Connection> future : futures) {
+                idleConnections.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new SimpleDbException("Failed to open connections: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SimpleDbException("Warm up interrupted", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    // action 안에서 실행되는 모든 쿼리에 남은 시간을 타임아웃으로 적용 (바깥 마감이 더 이르면 그대로 유지)
+    public <T> T withDeadline(Duration timeout, Supplier<T> action) {
+        String threadName = Thread.currentThread().getName();
+        Long outerDeadline = deadlines.get(threadName);
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        if (outerDeadline != null && outerDeadline - deadline < 0) deadline = outerDeadline;
+
+        deadlines.put(threadName, deadline);
+
+        try {
+            return action.get();
+        } finally {
+            if (outerDeadline == null) deadlines.remove(threadName);
+            else deadlines.put(threadName, outerDeadline);
+        }
+    }
+
+    // Sql 의 타임아웃, 취소 정보를 실행 중인 쓰레드에 연결
+    <T> T runSql(Sql sql, Supplier<T> action) {
+        String threadName = Thread.currentThread().getName();
+        Sql outerSql = runningSqls.put(threadName, sql);
+
+        try {
+            return action.get();
+        } finally {
+            if (outerSql == null) runningSqls.remove(threadName);
+            else runningSqls.put(threadName, outerSql);
+        }
+    }
+
+    // Sql 타임아웃 > 기본 타임아웃 순으로 정하고, 마감까지 남은 시간이 더 짧으면 그 값을 사용
+    private int resolveQueryTimeoutSeconds(Sql sql) {
+        int timeoutSeconds = sql != null && sql.getQueryTimeoutSeconds() > 0 ? sql.getQueryTimeoutSeconds() : defaultQueryTimeoutSeconds;
+
+        Long deadline = deadlines.get(Thread.currentThread().getName());
+        if (deadline == null) return timeoutSeconds;
+
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0) {
+            timedOutQueryCount.increment();
+            throw new QueryTimeoutException("Deadline exceeded before query execution");
+        }
+
+        int remainingSeconds = (int) Math.min(Integer.MAX_VALUE, (remainingNanos + 999_999_999) / 1_000_000_000);
+
+        return timeoutSeconds == 0 ? remainingSeconds : Math.min(timeoutSeconds, remainingSeconds);
+    }
+
+    public long getTimedOutQueryCount() {
+        return timedOutQueryCount.sum();
+    }
+
+    public long getCancelledQueryCount() {
+        return cancelledQueryCount.sum();
+    }
+
     public Sql genSql() {
         return new Sql(this);
     }
 
+    public Upsert genUpsert(String table) {
+        return new Upsert(this, table);
+    }
+
     // SQL에 파라미터를 적용한 raw SQL 생성
     private String rawSql(String sql, Object[] params) {
         StringBuilder processedSql = new StringBuilder(sql);
@@ -95,42 +447,53 @@ public class SimpleDb {
         }
     }
 
-    // ResultSet을 Map으로 변환
-    private Map<String, Object> parseResultSetToMap(ResultSet resultSet) throws SQLException {
+    // 현재 행부터 최대 maxRows개 행을 Row로 변환 (컬럼 정보는 모든 행이 공유)
+    private List<Map<String, Object>> parseResultSetToRows(ResultSet resultSet, int maxRows) throws SQLException {
         ResultSetMetaData metaData = resultSet.getMetaData();
         int columnCount = metaData.getColumnCount();
 
-        Map<String, Object> row = new LinkedHashMap<>();
-        for (int i = 1; i <= columnCount; i++) {
-            String columnName = metaData.getColumnLabel(i);
-            Object value = switch (metaData.getColumnType(i)) {
-                case Types.BIGINT -> resultSet.getLong(columnName);
-                case Types.TIMESTAMP -> {
-                    Timestamp timestamp = resultSet.getTimestamp(columnName);
-                    yield (timestamp != null) ? timestamp.toLocalDateTime() : null;
-                }
-                case Types.BOOLEAN -> resultSet.getBoolean(columnName);
-                default -> resultSet.getObject(columnName);
-            };
-            row.put(columnName, value);
+        String[] columnNames = new String[columnCount];
+        int[] columnTypes = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columnNames[i] = metaData.getColumnLabel(i + 1);
+            columnTypes[i] = metaData.getColumnType(i + 1);
         }
-        return row;
+        Row.Columns columns = new Row.Columns(columnNames);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        do {
+            Object[] values = new Object[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                int columnIndex = i + 1;
+                values[i] = switch (columnTypes[i]) {
+                    case Types.BIGINT -> resultSet.getLong(columnIndex);
+                    case Types.TIMESTAMP -> {
+                        Timestamp timestamp = resultSet.getTimestamp(columnIndex);
+                        yield (timestamp != null) ? timestamp.toLocalDateTime() : null;
+                    }
+                    case Types.BOOLEAN -> resultSet.getBoolean(columnIndex);
+                    // TEXT 는 실제로 읽을 때까지 문자열 변환을 미룬다
+                    case Types.LONGVARCHAR, Types.LONGNVARCHAR, Types.CLOB -> {
+                        byte[] bytes = resultSet.getBytes(columnIndex);
+                        yield (bytes != null) ? new Row.LazyText(bytes) : null;
+                    }
+                    default -> resultSet.getObject(columnIndex);
+                };
+            }
+            rows.add(new Row(columns, values));
+        } while (rows.size() < maxRows && resultSet.next());
+
+        return rows;
     }
 
     // ResultSet 파싱 (다양한 클래스 타입 지원)
     private <T> T parseResultSet(ResultSet resultSet, Class<T> cls) throws SQLException {
-        if (!resultSet.next()) throw new NoSuchElementException("No data found");
+        if (!resultSet.next()) throw new NoDataException("No data found");
 
         return switch (cls.getSimpleName()) {
             case "String" -> (T) resultSet.getString(1);
-            case "List" -> {
-                List<Map<String, Object>> rows = new ArrayList<>();
-                do {
-                    rows.add(parseResultSetToMap(resultSet));
-                } while (resultSet.next());
-                yield (T) rows;
-            }
-            case "Map" -> (T) parseResultSetToMap(resultSet);
+            case "List" -> (T) parseResultSetToRows(resultSet, Integer.MAX_VALUE);
+            case "Map" -> (T) parseResultSetToRows(resultSet, 1).get(0);
             case "LocalDateTime" -> (T) resultSet.getTimestamp(1).toLocalDateTime();
             case "Long" -> (T) (Long) resultSet.getLong(1);
             case "Boolean" -> (T) (Boolean) resultSet.getBoolean(1);
@@ -139,6 +502,7 @@ public class SimpleDb {
     }
 
     // 내부 SQL 실행 메서드
+    // 연결이 끊긴 경우 커넥션을 폐기하고, 트랜잭션 밖의 SELECT 는 새 커넥션으로 한 번 재시도
     private <T> T _run(String sql, Class<T> cls, Object... params) {
         sql = sql.trim();
 
@@ -147,24 +511,187 @@ public class SimpleDb {
             System.out.println(rawSql(sql, params));
         }
 
-        try (PreparedStatement preparedStatement = getCurrentThreadConnection().prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
+        boolean isRetryable = sql.startsWith("SELECT") && !isInTransaction();
+        SqlShape sqlShape = sqlShapes.get(sql);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                long startedAt = System.nanoTime();
+                T result = execute(sql, cls, params, sqlShape);
+                sqlShape.record(result instanceof List<?> rows ? rows.size() : 1, System.nanoTime() - startedAt);
+
+                return result;
+            } catch (SQLException e) {
+                SimpleDbException exception = SqlExceptionTranslator.translate("SQL Execution failed", e);
+
+                if (exception instanceof QueryTimeoutException) timedOutQueryCount.increment();
+                if (exception instanceof QueryCancelledException) cancelledQueryCount.increment();
+                if (!(exception instanceof ConnectionLostException)) throw exception;
+
+                discardCurrentThreadConnection();
+                circuitBreaker.recordFailure();
+
+                if (!isRetryable || attempt >= 2) throw exception;
+            }
+        }
+    }
+
+    private <T> T execute(String sql, Class<T> cls, Object[] params, SqlShape sqlShape) throws SQLException {
+        Connection connection = getCurrentThreadConnection();
+        // 자주 실행되는 모양만 서버에 prepare 해 두고 재사용, 그 외는 실행마다 클라이언트 prepare 후 닫는다
+        boolean isServerStatement = sqlShape.isStatementCacheCandidate();
+        PreparedStatement preparedStatement = isServerStatement
+                ? serverStatement(connection, sql)
+                : connection.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS);
+
+        try {
             bindParameters(preparedStatement, params);
 
-            if (sql.startsWith("INSERT")) {
-                preparedStatement.executeUpdate();
-                ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
-                return (generatedKeys.next() && cls == Long.class) ? (T) (Long) generatedKeys.getLong(1) : (T) (Integer) preparedStatement.getUpdateCount();
+            // 결과가 큰 모양은 스트리밍으로 받는다 (재사용하는 statement 는 이전 실행의 설정이 남아 있으므로 매번 지정)
+            preparedStatement.setFetchSize(sqlShape.getFetchSize());
+
+            Sql runningSql = runningSqls.get(Thread.currentThread().getName());
+            preparedStatement.setQueryTimeout(resolveQueryTimeoutSeconds(runningSql));
+
+            if (runningSql == null) return executeStatement(preparedStatement, sql, cls, params);
+
+            runningSql.attachStatement(preparedStatement);
+            try {
+                if (runningSql.isCancelled()) {
+                    cancelledQueryCount.increment();
+                    throw new QueryCancelledException("Query cancelled before execution");
+                }
+
+                T result = executeStatement(preparedStatement, sql, cls, params);
+
+                // 확인 직후, 실행 시작 전에 들어온 cancel 은 Connector/J 가 무시하므로 실행 후 다시 확인
+                if (runningSql.isCancelled()) {
+                    cancelledQueryCount.increment();
+                    throw new QueryCancelledException("Query cancelled during execution");
+                }
+
+                return result;
+            } finally {
+                runningSql.detachStatement(preparedStatement);
             }
+        } catch (SQLException e) {
+            // 실패한 서버 statement 는 다시 쓰지 않는다 (스키마 변경 후 다시 prepare 해야 하는 경우 등)
+            if (isServerStatement) removeServerStatement(connection, sql);
+            throw e;
+        } finally {
+            if (!isServerStatement) preparedStatement.close();
+        }
+    }
+
+    // 커넥션에 서버 prepare 해 둔 statement (없으면 prepare 후 보관, 커넥션당 최근에 쓴 것부터 최대 개수만 유지)
+    private PreparedStatement serverStatement(Connection connection, String sql) throws SQLException {
+        Map<String, PreparedStatement> statements = serverStatements.computeIfAbsent(
+                connection,
+                c -> Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                        if (size() <= MAX_SERVER_STATEMENTS_PER_CONNECTION) return false;
+
+                        closeQuietly(eldest.getValue());
+                        return true;
+                    }
+                })
+        );
+
+        PreparedStatement preparedStatement = statements.get(sql);
+        if (preparedStatement != null) return preparedStatement;
 
-            if (sql.startsWith("SELECT")) {
-                try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                    return parseResultSet(resultSet, cls);
+        try {
+            preparedStatement = connection.unwrap(JdbcConnection.class).serverPrepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        } catch (SQLException e) {
+            // 서버 prepare 를 지원하지 않는 문장은 클라이언트 prepare 한 statement 를 재사용
+            preparedStatement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        }
+        statements.put(sql, preparedStatement);
+
+        return preparedStatement;
+    }
+
+    private void removeServerStatement(Connection connection, String sql) {
+        Map<String, PreparedStatement> statements = serverStatements.get(connection);
+        if (statements == null) return;
+
+        PreparedStatement preparedStatement = statements.remove(sql);
+        if (preparedStatement != null) closeQuietly(preparedStatement);
+    }
+
+    private void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private <T> T executeStatement(PreparedStatement preparedStatement, String sql, Class<T> cls, Object[] params) throws SQLException {
+        if (sql.startsWith("SELECT")) {
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return parseResultSet(resultSet, cls);
+            }
+        }
+
+        try {
+            if (sql.startsWith("INSERT")) {
+                preparedStatement.executeUpdate();
+                try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                    return (generatedKeys.next() && cls == Long.class) ? (T) (Long) generatedKeys.getLong(1) : (T) (Integer) preparedStatement.getUpdateCount();
                 }
             }
 
             return (T) (Integer) preparedStatement.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("SQL Execution failed: " + e.getMessage(), e);
+        } finally {
+            invalidateEntityCache(sql, params);
+        }
+    }
+
+    // 쓰기 문장에 맞춰 캐시 무효화
+    // id 조건 UPDATE, DELETE 는 해당 id 만, 새 row 만 추가하는 INSERT 는 무효화하지 않고, 그 외는 테이블 전체 (테이블을 알 수 없으면 전체)
+    // 트랜잭션 중에는 쓰기 대상 테이블을 모아 두었다가 commit 때 무효화
+    private void invalidateEntityCache(String sql, Object[] params) {
+        if (entityCache == null || INSERT_ONLY_PATTERN.matcher(sql).matches()) return;
+
+        Matcher matcher = WRITE_TABLE_PATTERN.matcher(sql);
+        String table = matcher.find() ? matcher.group(1).toLowerCase() : UNKNOWN_TABLE;
+
+        if (isInTransaction()) {
+            transactionWrittenTables.computeIfAbsent(Thread.currentThread().getName(), k -> new HashSet<>()).add(table);
+            return;
+        }
+
+        if (table.equals(UNKNOWN_TABLE)) {
+            entityCache.invalidateAll();
+            return;
+        }
+
+        Matcher byIdMatcher = WRITE_BY_ID_PATTERN.matcher(sql);
+        boolean isIdParam = byIdMatcher.matches() && byIdMatcher.group(1).equals("?");
+
+        Long id = !byIdMatcher.matches() || (isIdParam && params.length == 0)
+                ? null
+                : isIdParam ? toCacheId(params[params.length - 1]) : toLiteralCacheId(byIdMatcher.group(1));
+
+        if (id == null) entityCache.invalidateTable(table);
+        else entityCache.invalidate(table, id);
+    }
+
+    // 캐시 키로 쓸 id (정수 타입만 Long 으로 통일해 캐시)
+    // 문자열 등은 DB 비교 규칙상 '01', '1 ' 처럼 다른 값이 같은 row 를 가리킬 수 있으므로 null (캐시하지 않음)
+    private Long toCacheId(Object id) {
+        if (id instanceof Long || id instanceof Integer || id instanceof Short || id instanceof Byte) return ((Number) id).longValue();
+
+        return null;
+    }
+
+    // SQL 에 직접 쓴 숫자 id (long 범위를 넘으면 null)
+    private Long toLiteralCacheId(String literal) {
+        try {
+            return Long.parseLong(literal);
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
 
@@ -196,19 +723,139 @@ public class SimpleDb {
         return _run(sql, List.class, params);
     }
 
+    // autoProjection 이 켜져 있으면 `SELECT * FROM ...` 을 클래스 필드 컬럼만 조회하도록 변경
+    private String project(String sql, Class<?> cls) {
+        if (!autoProjection) return sql;
+
+        Matcher matcher = SELECT_ALL_PATTERN.matcher(sql.trim());
+        if (!matcher.matches()) return sql;
+
+        String columns = projectionColumns.computeIfAbsent(cls, c -> Ut.mapper.fieldNames(c)
+                .stream()
+                .map(fieldName -> "`" + fieldName + "`")
+                .collect(Collectors.joining(", ")));
+
+        return matcher.group(1) + columns + matcher.group(2);
+    }
+
     public <T> List<T> selectRows(String sql, Class<?> cls, Object... params) {
-        return selectRows(sql, params)
+        return selectRows(project(sql, cls), params)
                 .stream()
                 .map(row -> (T) Ut.mapper.mapToObj(row, cls))
                 .toList();
     }
 
     public <T> T selectRow(String sql, Class<?> cls, Object... params) {
-        Map<String, Object> row = selectRow(sql, params);
+        Map<String, Object> row = entityCache == null ? selectRow(project(sql, cls), params) : selectRowWithCache(sql, cls, params);
 
         return (T) Ut.mapper.mapToObj(row, cls);
     }
 
+    // `SELECT * FROM 테이블 WHERE id = ?` 형태만 캐시 (트랜잭션 중에는 캐시를 거치지 않음)
+    private Map<String, Object> selectRowWithCache(String sql, Class<?> cls, Object[] params) {
+        Matcher matcher = SELECT_BY_ID_PATTERN.matcher(sql.trim());
+
+        if (!matcher.matches() || isInTransaction()) return selectRow(project(sql, cls), params);
+
+        boolean isIdParam = matcher.group(2).equals("?");
+        if (isIdParam && params.length != 1) return selectRow(project(sql, cls), params);
+
+        Long id = isIdParam ? toCacheId(params[0]) : toLiteralCacheId(matcher.group(2));
+        if (id == null) return selectRow(project(sql, cls), params);
+
+        String table = matcher.group(1).toLowerCase();
+
+        Map<String, Object> row = entityCache.get(cls, table, id);
+        if (row != null) return row;
+
+        long stamp = entityCache.stamp(cls, table);
+        row = selectRow(project(sql, cls), params);
+        entityCache.put(cls, table, id, row, stamp);
+
+        return row;
+    }
+
+    // PK 범위를 여러 구간으로 나눠 구간마다 별도 커넥션에서 병렬 조회 (결과는 PK 오름차순으로 병합)
+    // 트랜잭션 중에는 다른 커넥션에서 커밋 전 데이터가 보이지 않으므로 현재 커넥션 하나로 조회
+    public List<Map<String, Object>> selectRowsParallel(String sql, String idColumn, Object[] params) {
+        String baseSql = sql.trim();
+
+        if (isInTransaction()) {
+            try {
+                return selectRows("SELECT * FROM (%2$s) AS __base ORDER BY `%1$s`".formatted(idColumn, baseSql), params);
+            } catch (NoDataException e) {
+                return new ArrayList<>();
+            }
+        }
+
+        Map<String, Object> bounds = selectRow(
+                "SELECT MIN(`%1$s`) AS minId, MAX(`%1$s`) AS maxId FROM (%2$s) AS __base".formatted(idColumn, baseSql),
+                params
+        );
+
+        if (bounds.get("minId") == null) return new ArrayList<>();
+
+        long minId = ((Number) bounds.get("minId")).longValue();
+        long maxId = ((Number) bounds.get("maxId")).longValue();
+        int partitionCount = (int) Math.max(1, Math.min(maxParallelism, maxId - minId + 1));
+        long partitionSize = (maxId - minId + partitionCount) / partitionCount;
+
+        String partitionSql = "SELECT * FROM (%2$s) AS __base WHERE `%1$s` BETWEEN ? AND ? ORDER BY `%1$s`"
+                .formatted(idColumn, baseSql);
+
+        // 호출 쓰레드의 마감 시각, 실행 중인 Sql(타임아웃, 취소) 을 구간 조회 쓰레드에도 적용
+        Long deadline = deadlines.get(Thread.currentThread().getName());
+        Sql runningSql = runningSqls.get(Thread.currentThread().getName());
+
+        List<Future<List<Map<String, Object>>>> futures = new ArrayList<>();
+
+        try {
+            for (long from = minId; from <= maxId; from += partitionSize) {
+                Object[] partitionParams = Arrays.copyOf(params, params.length + 2);
+                partitionParams[params.length] = from;
+                partitionParams[params.length + 1] = Math.min(from + partitionSize - 1, maxId);
+
+                // 작업 쓰레드의 커넥션은 닫지 않고 다음 병렬 조회에서 재사용한다 (쓰레드 종료 시 닫힘)
+                futures.add(parallelExecutor.submit(() -> {
+                    if (deadline != null) deadlines.put(Thread.currentThread().getName(), deadline);
+                    if (runningSql != null) runningSqls.put(Thread.currentThread().getName(), runningSql);
+
+                    try {
+                        return selectRows(partitionSql, partitionParams);
+                    } catch (NoDataException e) {
+                        return List.<Map<String, Object>>of();
+                    } finally {
+                        deadlines.remove(Thread.currentThread().getName());
+                        runningSqls.remove(Thread.currentThread().getName());
+                    }
+                }));
+            }
+
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Future<List<Map<String, Object>>> future : futures) {
+                rows.addAll(future.get());
+            }
+
+            return rows;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new SimpleDbException("Parallel select failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SimpleDbException("Parallel select interrupted", e);
+        } finally {
+            // 실패한 경우 아직 시작하지 않은 구간 조회는 실행하지 않는다
+            futures.forEach(future -> future.cancel(false));
+        }
+    }
+
+    public <T> List<T> selectRowsParallel(String sql, String idColumn, Class<?> cls, Object[] params) {
+        return selectRowsParallel(sql, idColumn, params)
+                .stream()
+                .map(row -> (T) Ut.mapper.mapToObj(row, cls))
+                .toList();
+    }
+
     public int delete(String sql, Object... params) {
         return _run(sql, Integer.class, params);
     }
@@ -231,17 +878,29 @@ public class SimpleDb {
     public void startTransaction() {
         try {
             getCurrentThreadConnection().setAutoCommit(false);
+            transactionThreadNames.add(Thread.currentThread().getName());
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to start transaction: " + e.getMessage(), e);
+            throw SqlExceptionTranslator.translate("Failed to start transaction", e);
         }
     }
 
+    // 커넥션이 끊겼다면 서버에서 이미 롤백되었으므로 트랜잭션 상태만 정리
     public void rollback() {
+        Connection connection = connections.get(Thread.currentThread().getName());
+
         try {
-            getCurrentThreadConnection().rollback();
-            getCurrentThreadConnection().setAutoCommit(true);
+            if (connection == null) return;
+
+            connection.rollback();
+            connection.setAutoCommit(true);
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to rollback transaction: " + e.getMessage(), e);
+            SimpleDbException exception = SqlExceptionTranslator.translate("Failed to rollback transaction", e);
+            if (!(exception instanceof ConnectionLostException)) throw exception;
+
+            discardCurrentThreadConnection();
+        } finally {
+            transactionThreadNames.remove(Thread.currentThread().getName());
+            transactionWrittenTables.remove(Thread.currentThread().getName());
         }
     }
 
@@ -249,8 +908,18 @@ public class SimpleDb {
         try {
             getCurrentThreadConnection().commit();
             getCurrentThreadConnection().setAutoCommit(true);
+
+            // 트랜잭션 중 쓰기가 있었던 테이블에서 다른 쓰레드가 캐시에 넣은 커밋 전 값 제거
+            Set<String> writtenTables = transactionWrittenTables.get(Thread.currentThread().getName());
+            if (entityCache != null && writtenTables != null) {
+                if (writtenTables.contains(UNKNOWN_TABLE)) entityCache.invalidateAll();
+                else writtenTables.forEach(entityCache::invalidateTable);
+            }
         } catch (SQLException e) {
-            throw new RuntimeException("Failed to commit transaction: " + e.getMessage(), e);
+            throw SqlExceptionTranslator.translate("Failed to commit transaction", e);
+        } finally {
+            transactionThreadNames.remove(Thread.currentThread().getName());
+            transactionWrittenTables.remove(Thread.currentThread().getName());
         }
     }
 }
@@ -1,9 +1,16 @@
 package com.ll.simpleDb;
 
+import com.ll.simpleDb.exception.SqlExceptionTranslator;
+
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -11,6 +18,11 @@ public class Sql {
     private final SimpleDb simpleDb;
     private final StringBuilder sqlFormat;
     private final List<Object> params;
+    // 0 이면 SimpleDb 기본 타임아웃 사용
+    private int queryTimeoutSeconds;
+    private volatile boolean cancelled;
+    // 실행 중인 Statement (selectRowsParallel 은 구간마다 하나씩)
+    private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
 
     public Sql(SimpleDb simpleDb) {
         this.simpleDb = simpleDb;
@@ -38,56 +50,108 @@ public class Sql {
         return append(sqlBit, params);
     }
 
+    public Sql queryTimeout(int seconds) {
+        this.queryTimeoutSeconds = seconds;
+
+        return this;
+    }
+
+    int getQueryTimeoutSeconds() {
+        return queryTimeoutSeconds;
+    }
+
+    // 실행 중이면 Statement.cancel() 로 서버에 KILL QUERY 를 보내고, 실행 전이면 실행 시점에 바로 취소
+    // 병렬 조회처럼 실행 중인 statement 가 여러 개면 하나가 실패해도 나머지를 모두 취소한 뒤 예외를 던진다
+    public void cancel() {
+        cancelled = true;
+
+        SQLException failure = null;
+
+        for (Statement statement : statements) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                if (failure == null) failure = e;
+                else failure.addSuppressed(e);
+            }
+        }
+
+        if (failure != null) throw SqlExceptionTranslator.translate("Failed to cancel query", failure);
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    void attachStatement(Statement statement) {
+        statements.add(statement);
+    }
+
+    void detachStatement(Statement statement) {
+        statements.remove(statement);
+    }
+
     private String toSql() {
         return sqlFormat.toString();
     }
 
+    private <T> T run(Supplier<T> action) {
+        return simpleDb.runSql(this, action);
+    }
+
     public long insert() {
-        return simpleDb.insert(toSql(), params.toArray());
+        return run(() -> simpleDb.insert(toSql(), params.toArray()));
     }
 
     public int update() {
-        return simpleDb.update(toSql(), params.toArray());
+        return run(() -> simpleDb.update(toSql(), params.toArray()));
     }
 
     public int delete() {
-        return simpleDb.delete(toSql(), params.toArray());
+        return run(() -> simpleDb.delete(toSql(), params.toArray()));
     }
 
     public List<Map<String, Object>> selectRows() {
-        return simpleDb.selectRows(toSql(), params.toArray());
+        return run(() -> simpleDb.selectRows(toSql(), params.toArray()));
     }
 
     public Map<String, Object> selectRow() {
-        return simpleDb.selectRow(toSql(), params.toArray());
+        return run(() -> simpleDb.selectRow(toSql(), params.toArray()));
     }
 
     public LocalDateTime selectDatetime() {
-        return simpleDb.selectDatetime(toSql(), params.toArray());
+        return run(() -> simpleDb.selectDatetime(toSql(), params.toArray()));
     }
 
     public long selectLong() {
-        return simpleDb.selectLong(toSql(), params.toArray());
+        return run(() -> simpleDb.selectLong(toSql(), params.toArray()));
     }
 
     public String selectString() {
-        return simpleDb.selectString(toSql(), params.toArray());
+        return run(() -> simpleDb.selectString(toSql(), params.toArray()));
     }
 
     public boolean selectBoolean() {
-        return simpleDb.selectBoolean(toSql(), params.toArray());
+        return run(() -> simpleDb.selectBoolean(toSql(), params.toArray()));
     }
 
     public List<Long> selectLongs() {
-        return simpleDb.selectLongs(toSql(), params.toArray());
+        return run(() -> simpleDb.selectLongs(toSql(), params.toArray()));
     }
 
     public <T> List<T> selectRows(Class<?> cls) {
-        return simpleDb
-                .selectRows(toSql(), cls, params.toArray());
+        return run(() -> simpleDb.selectRows(toSql(), cls, params.toArray()));
+    }
+
+    public List<Map<String, Object>> selectRowsParallel(String idColumn) {
+        return run(() -> simpleDb.selectRowsParallel(toSql(), idColumn, params.toArray()));
+    }
+
+    public <T> List<T> selectRowsParallel(String idColumn, Class<?> cls) {
+        return run(() -> simpleDb.selectRowsParallel(toSql(), idColumn, cls, params.toArray()));
     }
 
     public <T> T selectRow(Class<?> cls) {
-        return simpleDb.selectRow(toSql(), cls, params.toArray());
+        return run(() -> simpleDb.selectRow(toSql(), cls, params.toArray()));
     }
 }
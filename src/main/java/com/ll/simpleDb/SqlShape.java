@@ -0,0 +1,124 @@
+package com.ll.simpleDb;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// 리터럴, IN 목록만 다른 SQL 을 하나로 묶은 "모양" 별 실행 통계와, 통계로 정하는 실행 힌트
+public class SqlShape {
+    // 평균 행 수가 이 이상이면 결과를 한 번에 받지 않고 스트리밍으로 받는다
+    private static final long STREAMING_MIN_AVERAGE_ROWS = 1_000;
+    // 자주 실행되는 모양 기준 (최소 호출 수, 초당 호출 수)
+    private static final long HOT_MIN_CALL_COUNT = 100;
+    private static final double HOT_MIN_CALLS_PER_SECOND = 10;
+    // 초당 호출 수를 계산하는 구간 (직전 구간 기준이므로 한때 자주 실행됐던 모양도 호출이 줄면 내려간다)
+    private static final long RATE_WINDOW_NANOS = 10_000_000_000L;
+    // 결과 캐시 후보 기준 (평균 행 수, 평균 지연 시간)
+    private static final double RESULT_CACHE_MAX_AVERAGE_ROWS = 1;
+    private static final double RESULT_CACHE_MIN_AVERAGE_LATENCY_MILLIS = 1;
+
+    @Getter
+    private final String fingerprint;
+    private final boolean isSelect;
+    // 모양 수 제한을 넘은 SQL 을 모아 두는 모양 (통계만 집계하고 힌트는 적용하지 않음)
+    private final boolean isOverflow;
+    // registerHotSql 로 등록된 모양 (호출 수와 관계없이 statement 캐시 대상)
+    private volatile boolean pinned;
+    private final LongAdder callCount = new LongAdder();
+    private final LongAdder totalRows = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder windowCallCount = new LongAdder();
+    private volatile long windowStartedAt = System.nanoTime();
+    private volatile double callsPerSecond;
+
+    SqlShape(String fingerprint) {
+        this(fingerprint, false);
+    }
+
+    SqlShape(String fingerprint, boolean isOverflow) {
+        this.fingerprint = fingerprint;
+        this.isSelect = fingerprint.regionMatches(true, 0, "SELECT", 0, 6);
+        this.isOverflow = isOverflow;
+    }
+
+    void pin() {
+        pinned = true;
+    }
+
+    void record(long rows, long nanos) {
+        callCount.increment();
+        totalRows.add(rows);
+        totalNanos.add(nanos);
+        windowCallCount.increment();
+
+        rotateWindowIfElapsed(System.nanoTime());
+    }
+
+    // 구간이 지나면 그 구간의 호출 수로 초당 호출 수를 갱신하고 새 구간을 시작
+    private void rotateWindowIfElapsed(long now) {
+        long startedAt = windowStartedAt;
+        if (now - startedAt < RATE_WINDOW_NANOS) return;
+
+        synchronized (this) {
+            if (windowStartedAt != startedAt) return;
+
+            callsPerSecond = windowCallCount.sumThenReset() / ((now - startedAt) / 1_000_000_000.0);
+            windowStartedAt = now;
+        }
+    }
+
+    public long getCallCount() {
+        return callCount.sum();
+    }
+
+    public double getAverageRows() {
+        long calls = getCallCount();
+
+        return calls == 0 ? 0 : (double) totalRows.sum() / calls;
+    }
+
+    public double getAverageLatencyMillis() {
+        long calls = getCallCount();
+
+        return calls == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / calls;
+    }
+
+    // 직전 구간의 초당 호출 수 (호출이 없던 긴 구간도 조회 시 반영)
+    public double getCallsPerSecond() {
+        rotateWindowIfElapsed(System.nanoTime());
+
+        return callsPerSecond;
+    }
+
+    // 큰 결과는 드라이버가 전체를 메모리에 올리지 않도록 한 행씩 받는다
+    public boolean isStreamingCandidate() {
+        return !isOverflow && isSelect && getAverageRows() >= STREAMING_MIN_AVERAGE_ROWS;
+    }
+
+    // Statement.setFetchSize 에 사용할 값 (Connector/J 는 Integer.MIN_VALUE 일 때 스트리밍)
+    public int getFetchSize() {
+        return isStreamingCandidate() ? Integer.MIN_VALUE : 0;
+    }
+
+    // 등록되었거나 최근 자주 실행되는 모양만 커넥션마다 서버에 prepare 해 두고 재사용한다
+    public boolean isStatementCacheCandidate() {
+        if (isOverflow) return false;
+
+        return pinned || (getCallCount() >= HOT_MIN_CALL_COUNT && getCallsPerSecond() >= HOT_MIN_CALLS_PER_SECOND);
+    }
+
+    // 자주 실행되고, 결과가 작지만 매번 DB 왕복 비용이 드는 SELECT
+    public boolean isResultCacheCandidate() {
+        return isSelect
+                && isStatementCacheCandidate()
+                && getAverageRows() <= RESULT_CACHE_MAX_AVERAGE_ROWS
+                && getAverageLatencyMillis() >= RESULT_CACHE_MIN_AVERAGE_LATENCY_MILLIS;
+    }
+
+    @Override
+    public String toString() {
+        return "%s [calls=%d, avgRows=%.1f, avgLatency=%.2fms, calls/s=%.1f]".formatted(
+                fingerprint, getCallCount(), getAverageRows(), getAverageLatencyMillis(), getCallsPerSecond()
+        );
+    }
+}
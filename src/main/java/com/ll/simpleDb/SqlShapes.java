@@ -0,0 +1,69 @@
+package com.ll.simpleDb;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// SQL 문자열 -> 지문(fingerprint) -> SqlShape
+// 같은 SQL 문자열은 정규화를 한 번만 한다
+public class SqlShapes {
+    // 정규화 결과를 보관할 최대 SQL 문자열 수 (넘으면 보관 없이 매번 정규화)
+    private static final int MAX_CACHED_SQLS = 10_000;
+    // 최대 모양 수 (넘으면 새 모양은 하나의 overflow 모양으로 집계)
+    private static final int MAX_SHAPES = 10_000;
+
+    // 작은따옴표, 큰따옴표 문자열 (MySQL 기본 모드에서는 큰따옴표도 문자열)
+    private static final Pattern STRING_LITERAL_PATTERN = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'|\"(?:[^\"\\\\]|\\\\.|\"\")*\"");
+    private static final Pattern NUMBER_LITERAL_PATTERN = Pattern.compile("\\b\\d+(?:\\.\\d+)?(?:[eE][+-]?\\d+)?\\b");
+    // 연산자, 여는 괄호, 쉼표, 키워드 뒤의 부호는 값의 일부 (식별자, 닫는 괄호 뒤의 - 는 뺄셈이므로 유지)
+    private static final Pattern SIGNED_PARAM_PATTERN = Pattern.compile(
+            "(?i)([=<>(,]|\\b(?:SELECT|WHERE|AND|OR|NOT|BETWEEN|LIKE|IN|WHEN|THEN|ELSE|LIMIT|OFFSET)\\b)(\\s*)[-+]\\s*\\?"
+    );
+    private static final Pattern IN_LIST_PATTERN = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    // 여러 행 VALUES (?, ?), (?, ?) 는 행 수와 관계없이 하나로
+    private static final Pattern VALUES_LIST_PATTERN = Pattern.compile(
+            "(?i)\\bVALUES\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)(?:\\s*,\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\))*"
+    );
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+    private final Map<String, SqlShape> shapesBySql = new ConcurrentHashMap<>();
+    private final Map<String, SqlShape> shapesByFingerprint = new ConcurrentHashMap<>();
+    private final SqlShape overflowShape = new SqlShape("(overflow)", true);
+
+    // 문자열, 숫자(부호 포함) 리터럴은 ? 로, IN 목록은 IN (...) 로, 여러 행 VALUES 는 VALUES (...) 로, 공백은 하나로
+    public static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL_PATTERN.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL_PATTERN.matcher(normalized).replaceAll("?");
+        normalized = SIGNED_PARAM_PATTERN.matcher(normalized).replaceAll("$1$2?");
+        normalized = IN_LIST_PATTERN.matcher(normalized).replaceAll("IN (...)");
+        normalized = VALUES_LIST_PATTERN.matcher(normalized).replaceAll("VALUES (...)");
+
+        return WHITESPACE_PATTERN.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    public SqlShape get(String sql) {
+        SqlShape sqlShape = shapesBySql.get(sql);
+        if (sqlShape != null) return sqlShape;
+
+        String fingerprint = fingerprint(sql);
+        sqlShape = shapesByFingerprint.get(fingerprint);
+
+        if (sqlShape == null) {
+            sqlShape = shapesByFingerprint.size() < MAX_SHAPES ? shapesByFingerprint.computeIfAbsent(fingerprint, SqlShape::new) : overflowShape;
+        }
+
+        if (shapesBySql.size() < MAX_CACHED_SQLS) shapesBySql.put(sql, sqlShape);
+
+        return sqlShape;
+    }
+
+    // 호출 수가 많은 순 (overflow 모양은 사용된 경우에만 포함)
+    public List<SqlShape> getAll() {
+        return Stream.concat(shapesByFingerprint.values().stream(), Stream.of(overflowShape).filter(shape -> shape.getCallCount() > 0))
+                .sorted(Comparator.comparingLong(SqlShape::getCallCount).reversed())
+                .toList();
+    }
+}
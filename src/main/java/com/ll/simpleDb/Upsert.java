@@ -0,0 +1,165 @@
+package com.ll.simpleDb;
+
+import com.ll.simpleDb.standard.util.Ut;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// 여러 행을 INSERT ... VALUES (...), (...) AS __new ON DUPLICATE KEY UPDATE ... 로 한 번에 저장
+// 새 값은 행 별칭으로 참조 (VALUES(col) 함수는 MySQL 8.0.20 부터 deprecated, 행 별칭은 8.0.19 이상 필요)
+// 플레이스홀더 수, 패킷 크기 제한을 넘지 않도록 여러 문장으로 나눠 실행한다
+public class Upsert {
+    // MySQL prepared statement 플레이스홀더 최대 개수
+    private static final int MAX_PARAMS_PER_STATEMENT = 65_535;
+    // 백틱으로 감싸 SQL 에 그대로 넣는 테이블, 컬럼 이름
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("\\w+");
+
+    // affected rows 만으로는 새로 추가된 행과 값이 같아 변경 없이 일치한 행을 구분할 수 없으므로 함께 집계
+    public record Result(int insertedOrUnchangedCount, int updatedCount, int statementCount) {
+    }
+
+    private final SimpleDb simpleDb;
+    private final String table;
+    private final List<Map<String, Object>> rows;
+    private final List<String> updateColumns;
+    // 한 문장의 예상 크기 상한 (서버 max_allowed_packet 보다 작게 설정)
+    private long maxPacketBytes = 4 * 1024 * 1024;
+
+    public Upsert(SimpleDb simpleDb, String table) {
+        this.simpleDb = simpleDb;
+        this.table = table;
+        this.rows = new ArrayList<>();
+        this.updateColumns = new ArrayList<>();
+    }
+
+    public Upsert row(Map<String, Object> row) {
+        this.rows.add(row);
+
+        return this;
+    }
+
+    public Upsert rows(Collection<? extends Map<String, Object>> rows) {
+        this.rows.addAll(rows);
+
+        return this;
+    }
+
+    public Upsert entity(Object entity) {
+        return row(Ut.mapper.objToMap(entity));
+    }
+
+    public Upsert entities(Collection<?> entities) {
+        entities.forEach(this::entity);
+
+        return this;
+    }
+
+    // 키가 중복될 때 갱신할 컬럼 (지정하지 않으면 id 를 제외한 모든 컬럼)
+    public Upsert updateColumns(String... columns) {
+        this.updateColumns.addAll(Arrays.asList(columns));
+
+        return this;
+    }
+
+    public Upsert maxPacketBytes(long maxPacketBytes) {
+        this.maxPacketBytes = maxPacketBytes;
+
+        return this;
+    }
+
+    // affected rows 는 insert 1, update 2, 변경 없음 1 (Connector/J 기본값 useAffectedRows=false) 이므로
+    // updated = affected - 행 수, 나머지는 insertedOrUnchanged 로 집계
+    public Result execute() {
+        if (rows.isEmpty()) return new Result(0, 0, 0);
+
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        for (Map<String, Object> row : rows) {
+            if (!row.keySet().equals(new HashSet<>(columns))) {
+                throw new IllegalArgumentException("All rows must have the same columns: " + columns);
+            }
+        }
+
+        validateIdentifier(table);
+        columns.forEach(this::validateIdentifier);
+        updateColumns.forEach(this::validateIdentifier);
+
+        int maxRowsPerStatement = Math.max(1, MAX_PARAMS_PER_STATEMENT / columns.size());
+        String rowPlaceholder = columns.stream().map(column -> "?").collect(Collectors.joining(", ", "(", ")"));
+
+        int insertedOrUnchangedCount = 0;
+        int updatedCount = 0;
+        int statementCount = 0;
+
+        int from = 0;
+        while (from < rows.size()) {
+            int to = from;
+            long statementBytes = 0;
+
+            do {
+                statementBytes += estimateBytes(rows.get(to));
+                to++;
+            } while (to < rows.size() && to - from < maxRowsPerStatement && statementBytes + estimateBytes(rows.get(to)) <= maxPacketBytes);
+
+            List<Map<String, Object>> chunk = rows.subList(from, to);
+            Object[] params = chunk.stream()
+                    .flatMap(row -> columns.stream().map(row::get))
+                    .toArray();
+
+            String sql = toSql(columns, String.join(", ", Collections.nCopies(chunk.size(), rowPlaceholder)));
+            int affectedRowsCount = simpleDb.run(sql, params);
+
+            int chunkUpdatedCount = affectedRowsCount - chunk.size();
+            updatedCount += chunkUpdatedCount;
+            insertedOrUnchangedCount += chunk.size() - chunkUpdatedCount;
+            statementCount++;
+
+            from = to;
+        }
+
+        return new Result(insertedOrUnchangedCount, updatedCount, statementCount);
+    }
+
+    private void validateIdentifier(String identifier) {
+        if (!IDENTIFIER_PATTERN.matcher(identifier).matches()) {
+            throw new IllegalArgumentException("Invalid identifier: " + identifier);
+        }
+    }
+
+    private String toSql(List<String> columns, String values) {
+        List<String> columnsToUpdate = updateColumns.isEmpty()
+                ? columns.stream().filter(column -> !column.equals("id")).toList()
+                : updateColumns;
+
+        // 갱신할 컬럼이 없으면 아무것도 바꾸지 않는 대입으로 중복 키 오류만 피한다
+        String updateClause = columnsToUpdate.isEmpty()
+                ? "`%1$s` = `%1$s`".formatted(columns.get(0))
+                : columnsToUpdate.stream()
+                .map(column -> "`%1$s` = __new.`%1$s`".formatted(column))
+                .collect(Collectors.joining(", "));
+
+        return """
+                INSERT INTO `%s` (%s)
+                VALUES %s AS __new
+                ON DUPLICATE KEY UPDATE %s
+                """.formatted(
+                table,
+                columns.stream().map(column -> "`" + column + "`").collect(Collectors.joining(", ")),
+                values,
+                updateClause
+        );
+    }
+
+    // 행 하나가 문장에 차지하는 대략적인 바이트 수 (문자열은 utf8mb4 최대 4바이트로 계산)
+    private long estimateBytes(Map<String, Object> row) {
+        long bytes = 4;
+
+        for (Object value : row.values()) {
+            if (value == null) bytes += 4;
+            else if (value instanceof Number || value instanceof Boolean) bytes += 24;
+            else bytes += value.toString().length() * 4L + 2;
+        }
+
+        return bytes;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ll.simpleDb;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 쓰레드별 커넥션을 재사용하는 작업 쓰레드 풀
+// SimpleDb 는 쓰레드 이름으로 커넥션을 구분하므로 작업 쓰레드마다 고유한 이름을 붙이고,
+// 일정 시간 쉬어 쓰레드가 종료될 때 onThreadExit 로 해당 쓰레드의 커넥션을 닫는다
+class WorkerPools {
+    static ThreadPoolExecutor newWorkerPool(String threadNamePrefix, int size, Runnable onThreadExit) {
+        AtomicInteger threadNo = new AtomicInteger();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                size, size, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(() -> {
+                        try {
+                            runnable.run();
+                        } finally {
+                            onThreadExit.run();
+                        }
+                    }, threadNamePrefix + threadNo.incrementAndGet());
+                    thread.setDaemon(true);
+
+                    return thread;
+                }
+        );
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
+    // 늘릴 때는 최대 크기부터, 줄일 때는 기본 크기부터 바꿔야 core <= max 가 유지된다
+    static void resize(ThreadPoolExecutor executor, int size) {
+        if (size > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(size);
+            executor.setCorePoolSize(size);
+        } else {
+            executor.setCorePoolSize(size);
+            executor.setMaximumPoolSize(size);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.ll.simpleDb.exception;
+
+// DB 연결 실패 또는 연결 끊김 (SQLState 08xxx)
+public class ConnectionLostException extends SimpleDbException {
+    public ConnectionLostException(String message) {
+        super(message);
+    }
+
+    public ConnectionLostException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ll.simpleDb.exception;
+
+// 서킷이 열려 있어 DB 접근을 시도하지 않고 바로 실패할 때 발생
+public class DatabaseUnavailableException extends SimpleDbException {
+    public DatabaseUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ll.simpleDb.exception;
+
+// 데드락으로 트랜잭션이 롤백됨 (MySQL 1213, SQLState 40001)
+public class DeadlockException extends SimpleDbException {
+    public DeadlockException(String message) {
+        super(message);
+    }
+
+    public DeadlockException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
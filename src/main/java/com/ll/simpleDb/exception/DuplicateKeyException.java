@@ -0,0 +1,12 @@
+package com.ll.simpleDb.exception;
+
+// UNIQUE/PRIMARY KEY 중복 (MySQL 1062)
+public class DuplicateKeyException extends SimpleDbException {
+    public DuplicateKeyException(String message) {
+        super(message);
+    }
+
+    public DuplicateKeyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
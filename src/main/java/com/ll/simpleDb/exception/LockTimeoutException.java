@@ -0,0 +1,12 @@
+package com.ll.simpleDb.exception;
+
+// 락 대기 시간 초과 (MySQL 1205)
+public class LockTimeoutException extends SimpleDbException {
+    public LockTimeoutException(String message) {
+        super(message);
+    }
+
+    public LockTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ll.simpleDb.exception;
+
+// 조회 결과가 없음
+public class NoDataException extends SimpleDbException {
+    public NoDataException(String message) {
+        super(message);
+    }
+
+    public NoDataException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ll.simpleDb.exception;
+
+// Sql.cancel() 로 실행 중인 쿼리가 취소됨 (MySQL 1317, SQLState 70100)
+public class QueryCancelledException extends SimpleDbException {
+    public QueryCancelledException(String message) {
+        super(message);
+    }
+
+    public QueryCancelledException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ll.simpleDb.exception;
+
+// 쿼리 실행 시간 초과
+public class QueryTimeoutException extends SimpleDbException {
+    public QueryTimeoutException(String message) {
+        super(message);
+    }
+
+    public QueryTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ll.simpleDb.exception;
+
+// SimpleDb 에서 발생하는 모든 예외의 부모
+public class SimpleDbException extends RuntimeException {
+    public SimpleDbException(String message) {
+        super(message);
+    }
+
+    public SimpleDbException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,42 @@
+package com.ll.simpleDb.exception;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLNonTransientException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+
+// SQLException 을 SQLState, MySQL 에러 코드 기준으로 SimpleDbException 하위 타입으로 변환
+public class SqlExceptionTranslator {
+    public static SimpleDbException translate(String message, SQLException e) {
+        String sqlState = e.getSQLState() == null ? "" : e.getSQLState();
+        String fullMessage = message + ": " + e.getMessage();
+
+        return switch (e.getErrorCode()) {
+            case 1062, 1586 -> new DuplicateKeyException(fullMessage, e);
+            case 1213 -> new DeadlockException(fullMessage, e);
+            case 1205 -> new LockTimeoutException(fullMessage, e);
+            case 3024 -> new QueryTimeoutException(fullMessage, e);
+            default -> {
+                // 타임아웃에 의한 취소도 70100 을 쓰므로 SQLTimeoutException 을 먼저 확인
+                if (e instanceof SQLTimeoutException) yield new QueryTimeoutException(fullMessage, e);
+                if (e.getErrorCode() == 1317 || sqlState.equals("70100") || isStatementCancelled(e)) {
+                    yield new QueryCancelledException(fullMessage, e);
+                }
+                if (sqlState.equals("40001")) yield new DeadlockException(fullMessage, e);
+                if (sqlState.startsWith("08")
+                        || e instanceof SQLRecoverableException
+                        || e instanceof SQLNonTransientConnectionException) {
+                    yield new ConnectionLostException(fullMessage, e);
+                }
+
+                yield new SimpleDbException(fullMessage, e);
+            }
+        };
+    }
+
+    // Connector/J 는 Statement.cancel() 에 의한 취소를 SQLState, 에러 코드 없이 MySQLStatementCancelledException 으로 알린다
+    private static boolean isStatementCancelled(SQLException e) {
+        return e instanceof SQLNonTransientException && e.getClass().getSimpleName().equals("MySQLStatementCancelledException");
+    }
+}
@@ -2,10 +2,17 @@ package com.ll.simpleDb.standard.util;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.SneakyThrows;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class Ut {
@@ -19,5 +26,39 @@ public class Ut {
         public static <T> T mapToObj(Map<String, Object> map, Class<T> cls) {
             return OBJECT_MAPPER.convertValue(map, cls);
         }
+
+        // mapToObj 가 값을 채우는 속성 이름 목록 (ObjectMapper 기준이므로 상위 클래스 필드, setter 포함)
+        public static List<String> fieldNames(Class<?> cls) {
+            BeanDescription beanDescription = OBJECT_MAPPER.getDeserializationConfig().introspect(OBJECT_MAPPER.constructType(cls));
+
+            return beanDescription.findProperties()
+                    .stream()
+                    .filter(BeanPropertyDefinition::couldDeserialize)
+                    .map(BeanPropertyDefinition::getName)
+                    .toList();
+        }
+
+        // 객체의 필드를 이름 그대로 Map 으로 변환 (상위 클래스 필드 포함, static, transient 제외)
+        // 날짜 등을 JDBC 에 그대로 바인딩할 수 있도록 직렬화하지 않고 필드 값을 그대로 담는다
+        @SneakyThrows
+        public static Map<String, Object> objToMap(Object obj) {
+            List<Class<?>> classes = new ArrayList<>();
+            for (Class<?> cls = obj.getClass(); cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+                classes.add(0, cls);
+            }
+
+            Map<String, Object> map = new LinkedHashMap<>();
+
+            for (Class<?> cls : classes) {
+                for (Field field : cls.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()) || field.isSynthetic()) continue;
+
+                    field.setAccessible(true);
+                    map.put(field.getName(), field.get(obj));
+                }
+            }
+
+            return map;
+        }
     }
 }
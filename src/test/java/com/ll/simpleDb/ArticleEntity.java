@@ -0,0 +1,10 @@
+package com.ll.simpleDb;
+
+import lombok.Getter;
+
+@Getter
+public class ArticleEntity extends BaseEntity {
+    private String title;
+    private String body;
+    private boolean isBlind;
+}
@@ -0,0 +1,9 @@
+package com.ll.simpleDb;
+
+import lombok.Getter;
+
+@Getter
+public class ArticleSummary {
+    private long id;
+    private String title;
+}
@@ -0,0 +1,12 @@
+package com.ll.simpleDb;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class BaseEntity {
+    private long id;
+    private LocalDateTime createdDate;
+    private LocalDateTime modifiedDate;
+}
@@ -1,20 +1,31 @@
 package com.ll.simpleDb;
 
+import com.ll.simpleDb.exception.ConnectionLostException;
+import com.ll.simpleDb.exception.DatabaseUnavailableException;
+import com.ll.simpleDb.exception.DuplicateKeyException;
+import com.ll.simpleDb.exception.NoDataException;
+import com.ll.simpleDb.exception.QueryCancelledException;
+import com.ll.simpleDb.exception.QueryTimeoutException;
+import com.ll.simpleDb.standard.util.Ut;
 import org.junit.jupiter.api.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @TestMethodOrder(MethodOrderer.MethodName.class)
 public class SimpleDbTest {
@@ -34,6 +45,10 @@ public class SimpleDbTest {
     }
 
     private static void createArticleTable() {
+        createArticleTable(simpleDb);
+    }
+
+    private static void createArticleTable(SimpleDb simpleDb) {
         simpleDb.run("DROP TABLE IF EXISTS article");
 
         simpleDb.run("""
@@ -538,4 +553,707 @@ public class SimpleDbTest {
 
         assertThat(newCount).isEqualTo(oldCount + 1);
     }
+
+    @Test
+    @DisplayName("selectRowsParallel")
+    public void t020() {
+        simpleDb.setMaxParallelism(3);
+
+        Sql sql = simpleDb.genSql();
+        /*
+        == rawSql ==
+        SELECT *
+        FROM article
+        WHERE isBlind = 0
+        */
+        sql.append("SELECT *")
+                .append("FROM article")
+                .append("WHERE isBlind = ?", false);
+
+        // id 구간을 3개로 나눠 각각 다른 커넥션에서 조회 후 id 순서대로 병합
+        List<Article> articles = sql.selectRowsParallel("id", Article.class);
+
+        assertThat(articles)
+                .extracting(Article::getId)
+                .containsExactly(1L, 2L, 3L);
+
+        // 다시 조회해도 작업 쓰레드의 커넥션을 재사용하므로 커넥션이 늘지 않습니다.
+        int connectionCount = simpleDb.getConnectionCount();
+
+        simpleDb.genSql()
+                .append("SELECT *")
+                .append("FROM article")
+                .append("WHERE isBlind = ?", false)
+                .selectRowsParallel("id", Article.class);
+
+        assertThat(simpleDb.getConnectionCount()).isEqualTo(connectionCount);
+    }
+
+    @Test
+    @DisplayName("entity cache, update 시 무효화")
+    public void t021() {
+        SimpleDb cachedDb = new SimpleDb("localhost", "root", "lldj123414", "simpleDb__test");
+        cachedDb.enableEntityCache(100);
+
+        try {
+            // 첫 조회는 DB, 두 번째 조회는 캐시에서 가져옵니다.
+            cachedDb.genSql().append("SELECT * FROM article WHERE id = ?", 1).selectRow(Article.class);
+            Article article = cachedDb.genSql().append("SELECT * FROM article WHERE id = ?", 1).selectRow(Article.class);
+
+            assertThat(article.getTitle()).isEqualTo("제목1");
+            assertThat(cachedDb.getEntityCache().getHitCount()).isEqualTo(1);
+
+            // 같은 테이블을 수정하면 캐시가 무효화됩니다.
+            cachedDb.genSql()
+                    .append("UPDATE article")
+                    .append("SET title = ?", "제목 new")
+                    .append("WHERE id = ?", 1)
+                    .update();
+
+            article = cachedDb.genSql().append("SELECT * FROM article WHERE id = ?", 1).selectRow(Article.class);
+
+            assertThat(article.getTitle()).isEqualTo("제목 new");
+            assertThat(cachedDb.getEntityCache().getMissCount()).isEqualTo(2);
+        } finally {
+            cachedDb.close();
+        }
+    }
+
+    @Test
+    @DisplayName("selectRows, Row")
+    public void t022() {
+        List<Map<String, Object>> articleRows = simpleDb.genSql()
+                .append("SELECT id, title FROM article ORDER BY id ASC")
+                .selectRows();
+
+        // 각 행은 컬럼 정보를 공유하는 Row 이며, 일반 Map 처럼 사용할 수 있습니다.
+        assertThat(articleRows).allSatisfy(row -> assertThat(row).isInstanceOf(Row.class));
+        assertThat(articleRows.get(0)).containsExactly(
+                Map.entry("id", 1L),
+                Map.entry("title", "제목1")
+        );
+        assertThat(articleRows.get(0)).isEqualTo(Map.of("id", 1L, "title", "제목1"));
+    }
+
+    @Test
+    @DisplayName("warmUp")
+    public void t023() {
+        SimpleDb warmDb = new SimpleDb("localhost", "root", "lldj123414", "simpleDb__test");
+        warmDb.setWarmUpConnectionCount(2);
+        warmDb.registerHotSql("SELECT * FROM article WHERE id = ?");
+        warmDb.registerEntityClass(Article.class);
+
+        try {
+            // 단계별 소요 시간이 반환됩니다.
+            Map<String, Long> elapsedMillis = warmDb.warmUp();
+
+            assertThat(elapsedMillis).containsOnlyKeys("connections", "sqls", "mappers");
+
+            Article article = warmDb.genSql()
+                    .append("SELECT * FROM article WHERE id = ?", 1)
+                    .selectRow(Article.class);
+
+            assertThat(article.getId()).isEqualTo(1L);
+        } finally {
+            // 미리 열어 둔 커넥션까지 모두 닫습니다.
+            warmDb.shutdown();
+        }
+
+        assertThat(warmDb.getConnectionCount()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("circuit breaker, DB 연결 불가 시 바로 실패")
+    public void t024() {
+        // 열려 있지 않은 포트로 접속하는 SimpleDb
+        SimpleDb downDb = new SimpleDb("localhost:1", "root", "lldj123414", "simpleDb__test");
+        downDb.getCircuitBreaker().setFailureThreshold(3);
+
+        // 연속 3번 연결에 실패하면 서킷이 열립니다.
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> downDb.genSql().append("SELECT 1").selectLong())
+                    .isInstanceOf(ConnectionLostException.class);
+        }
+
+        assertThat(downDb.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // 서킷이 열린 동안에는 연결을 시도하지 않고 바로 실패합니다.
+        assertThatThrownBy(() -> downDb.genSql().append("SELECT 1").selectLong())
+                .isInstanceOf(DatabaseUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("SQLState 기반 예외 타입")
+    public void t025() {
+        // 이미 있는 id로 insert 하면 DuplicateKeyException 이 발생합니다.
+        assertThatThrownBy(() -> simpleDb.genSql()
+                .append("INSERT INTO article")
+                .append("SET id = ?", 1)
+                .append(", createdDate = NOW()")
+                .append(", modifiedDate = NOW()")
+                .append(", title = ?", "제목 new")
+                .append(", body = ?", "내용 new")
+                .insert()
+        ).isInstanceOf(DuplicateKeyException.class);
+
+        // 조회 결과가 없으면 NoDataException 이 발생합니다.
+        assertThatThrownBy(() -> simpleDb.genSql()
+                .append("SELECT * FROM article WHERE id = ?", 0)
+                .selectRow()
+        ).isInstanceOf(NoDataException.class);
+    }
+
+    @Test
+    @DisplayName("queryTimeout, withDeadline")
+    public void t026() {
+        long oldTimedOutCount = simpleDb.getTimedOutQueryCount();
+
+        // Sql 단위 타임아웃
+        assertThatThrownBy(() -> simpleDb.genSql()
+                .append("SELECT SLEEP(3)")
+                .queryTimeout(1)
+                .selectLong()
+        ).isInstanceOf(QueryTimeoutException.class);
+
+        // 요청 단위 마감 시각까지 남은 시간이 타임아웃으로 적용됩니다.
+        assertThatThrownBy(() -> simpleDb.withDeadline(
+                Duration.ofSeconds(1),
+                () -> simpleDb.genSql().append("SELECT SLEEP(2)").selectLong()
+        )).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(simpleDb.getTimedOutQueryCount()).isEqualTo(oldTimedOutCount + 2);
+    }
+
+    @Test
+    @DisplayName("cancel")
+    public void t027() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        Sql sql = simpleDb.genSql().append("SELECT SLEEP(5)");
+        long cancelledQueryCount = simpleDb.getCancelledQueryCount();
+
+        try {
+            Future<Long> future = executorService.submit(() -> {
+                try {
+                    return sql.selectLong();
+                } finally {
+                    simpleDb.close();
+                }
+            });
+
+            Thread.sleep(500);
+            sql.cancel();
+
+            assertThatThrownBy(future::get).hasCauseInstanceOf(QueryCancelledException.class);
+            assertThat(simpleDb.getCancelledQueryCount()).isEqualTo(cancelledQueryCount + 1);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("sharding, 샤드 키 라우팅 및 scatter-gather")
+    public void t028() {
+        // 샤드로 사용할 DB 2개를 준비합니다.
+        List<SimpleDb> shards = IntStream.rangeClosed(1, 2)
+                .mapToObj(no -> {
+                    simpleDb.run("CREATE DATABASE IF NOT EXISTS simpleDb__test_shard%d".formatted(no));
+
+                    return new SimpleDb("localhost", "root", "lldj123414", "simpleDb__test_shard%d".formatted(no));
+                })
+                .toList();
+
+        ShardedSimpleDb shardedSimpleDb = new ShardedSimpleDb(shards);
+
+        try {
+            shards.forEach(SimpleDbTest::createArticleTable);
+
+            // 샤드 키 없이 insert 하면 샤드를 번갈아 사용하며, id 는 샤드 간에 겹치지 않습니다.
+            List<Long> ids = IntStream.rangeClosed(1, 4)
+                    .mapToObj(no -> shardedSimpleDb.genSql()
+                            .append("INSERT INTO article")
+                            .append("SET createdDate = NOW()")
+                            .append(", modifiedDate = NOW()")
+                            .append(", title = ?", "제목%d".formatted(no))
+                            .append(", body = ?", "내용%d".formatted(no))
+                            .insert())
+                    .toList();
+
+            assertThat(ids).containsExactly(1L, 2L, 3L, 4L);
+
+            // 샤드 키가 있으면 해당 샤드에서만 조회합니다.
+            Article article = shardedSimpleDb.genSql()
+                    .shardKey(3L)
+                    .append("SELECT * FROM article WHERE id = ?", 3L)
+                    .selectRow(Article.class);
+
+            assertThat(article.getTitle()).isEqualTo("제목3");
+
+            // 샤드 키가 없으면 모든 샤드에서 조회하고 ORDER BY, LIMIT 을 다시 적용합니다.
+            List<Article> articles = shardedSimpleDb.genSql()
+                    .append("SELECT * FROM article")
+                    .append("ORDER BY id DESC")
+                    .append("LIMIT 3")
+                    .selectRows(Article.class);
+
+            assertThat(articles)
+                    .extracting(Article::getId)
+                    .containsExactly(4L, 3L, 2L);
+        } finally {
+            shardedSimpleDb.close();
+        }
+    }
+
+    @Test
+    @DisplayName("upsert, 여러 행을 한 번에 insert/update")
+    public void t029() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        // id 1 은 이미 있으므로 update, id 가 null 인 행은 insert 됩니다.
+        Map<String, Object> existingRow = new HashMap<>(Map.of(
+                "id", 1L,
+                "createdDate", now,
+                "modifiedDate", now,
+                "title", "제목1 new",
+                "body", "내용1 new",
+                "isBlind", false
+        ));
+        Map<String, Object> newRow = new HashMap<>(existingRow);
+        newRow.put("id", null);
+        newRow.put("title", "제목 new");
+
+        // 엔티티 객체도 같은 방식으로 저장할 수 있습니다.
+        Map<String, Object> entityRow = new HashMap<>(existingRow);
+        entityRow.put("id", 2L);
+        entityRow.put("title", "제목2 new");
+        Article article = Ut.mapper.mapToObj(entityRow, Article.class);
+
+        Upsert.Result result = simpleDb.genUpsert("article")
+                .row(existingRow)
+                .row(newRow)
+                .entity(article)
+                .updateColumns("title", "body", "modifiedDate")
+                .execute();
+
+        assertThat(result.insertedOrUnchangedCount()).isEqualTo(1);
+        assertThat(result.updatedCount()).isEqualTo(2);
+        assertThat(result.statementCount()).isEqualTo(1);
+
+        List<String> titles = simpleDb.genSql()
+                .append("SELECT title FROM article ORDER BY id ASC")
+                .selectRows()
+                .stream()
+                .map(row -> (String) row.get("title"))
+                .toList();
+
+        assertThat(titles).containsExactly("제목1 new", "제목2 new", "제목3", "제목4", "제목5", "제목6", "제목 new");
+    }
+
+    @Test
+    @DisplayName("autoProjection, 클래스 필드 컬럼만 조회")
+    public void t030() {
+        SimpleDb projectionDb = new SimpleDb("localhost", "root", "lldj123414", "simpleDb__test");
+        projectionDb.setAutoProjection(true);
+
+        try {
+            /*
+            == rawSql ==
+            SELECT `id`, `title`
+            FROM article
+            ORDER BY id ASC
+            */
+            List<ArticleSummary> articleSummaries = projectionDb.genSql()
+                    .append("SELECT *")
+                    .append("FROM article")
+                    .append("ORDER BY id ASC")
+                    .selectRows(ArticleSummary.class);
+
+            assertThat(articleSummaries).hasSize(6);
+            assertThat(articleSummaries.get(0).getId()).isEqualTo(1L);
+            assertThat(articleSummaries.get(0).getTitle()).isEqualTo("제목1");
+        } finally {
+            projectionDb.close();
+        }
+    }
+
+    @Test
+    @DisplayName("SQL 모양별 실행 통계, 리터럴과 IN 목록 길이는 같은 모양으로 묶음")
+    public void t031() {
+        assertThat(SqlShapes.fingerprint("SELECT * FROM article\nWHERE id IN (?, ?, ?)\nAND title = '제목1' AND id > 10"))
+                .isEqualTo("SELECT * FROM article WHERE id IN (...) AND title = ? AND id > ?");
+
+        // 큰따옴표 문자열, 부호, 지수가 있는 숫자도 값으로 보고, 뺄셈의 - 는 유지합니다.
+        assertThat(SqlShapes.fingerprint("SELECT id - 1 FROM article WHERE title = \"제목1\" AND id > -5 AND id < 1e3"))
+                .isEqualTo("SELECT id - ? FROM article WHERE title = ? AND id > ? AND id < ?");
+
+        // 여러 행 VALUES 는 행 수와 관계없이 같은 모양입니다.
+        assertThat(SqlShapes.fingerprint("INSERT INTO article (id, title) VALUES (?, ?), (?, ?) AS __new ON DUPLICATE KEY UPDATE title = __new.title"))
+                .isEqualTo(SqlShapes.fingerprint("INSERT INTO article (id, title) VALUES (?, ?) AS __new ON DUPLICATE KEY UPDATE title = __new.title"));
+
+        SqlShape sqlShape = simpleDb.getSqlShapes().get("SELECT id FROM article WHERE id IN (?)");
+        long callCount = sqlShape.getCallCount();
+
+        simpleDb.genSql()
+                .appendIn("SELECT id FROM article WHERE id IN (?)", 1, 2, 3)
+                .selectLongs();
+
+        simpleDb.genSql()
+                .appendIn("SELECT id FROM article WHERE id IN (?)", 4, 5)
+                .selectLongs();
+
+        assertThat(sqlShape.getCallCount()).isEqualTo(callCount + 2);
+        assertThat(sqlShape.isStreamingCandidate()).isFalse();
+        assertThat(simpleDb.getSqlShapes().getAll()).contains(sqlShape);
+    }
+
+    @Test
+    @DisplayName("selectRowsParallel, 트랜잭션 중에는 현재 커넥션에서 조회")
+    public void t032() {
+        simpleDb.startTransaction();
+
+        try {
+            simpleDb.genSql()
+                    .append("INSERT INTO article")
+                    .append("SET createdDate = NOW()")
+                    .append(", modifiedDate = NOW()")
+                    .append(", title = ?", "제목 new")
+                    .append(", body = ?", "내용 new")
+                    .insert();
+
+            // 커밋 전 데이터도 조회됩니다.
+            List<Article> articles = simpleDb.genSql()
+                    .append("SELECT * FROM article")
+                    .append("WHERE isBlind = ?", false)
+                    .selectRowsParallel("id", Article.class);
+
+            assertThat(articles)
+                    .extracting(Article::getId)
+                    .containsExactly(1L, 2L, 3L, 7L);
+        } finally {
+            simpleDb.rollback();
+        }
+    }
+
+    @Test
+    @DisplayName("entity cache, insert 나 다른 id 수정은 캐시를 유지")
+    public void t033() {
+        SimpleDb cachedDb = new SimpleDb("localhost", "root", "lldj123414", "simpleDb__test");
+        cachedDb.enableEntityCache(100);
+
+        try {
+            cachedDb.genSql().append("SELECT * FROM article WHERE id = ?", 1).selectRow(Article.class);
+
+            // 새 row 추가, 다른 id 수정은 id 1 의 캐시 항목에 영향을 주지 않습니다.
+            cachedDb.genSql()
+                    .append("INSERT INTO article")
+                    .append("SET createdDate = NOW()")
+                    .append(", modifiedDate = NOW()")
+                    .append(", title = ?", "제목 new")
+                    .append(", body = ?", "내용 new")
+                    .insert();
+
+            cachedDb.genSql()
+                    .append("UPDATE article")
+                    .append("SET title = ?", "제목 new")
+                    .append("WHERE id = ?", 2)
+                    .update();
+
+            // 정수 파라미터 타입이 달라도 같은 캐시 항목을 사용합니다.
+            Article article = cachedDb.genSql().append("SELECT * FROM article WHERE id = ?", 1L).selectRow(Article.class);
+
+            assertThat(article.getTitle()).isEqualTo("제목1");
+            assertThat(cachedDb.getEntityCache().getHitCount()).isEqualTo(1);
+
+            // 문자열 id 는 '01' 처럼 같은 row 를 가리키는 표현이 여러 개일 수 있으므로 캐시하지 않습니다.
+            Article stringIdArticle = cachedDb.genSql().append("SELECT * FROM article WHERE id = ?", "01").selectRow(Article.class);
+
+            assertThat(stringIdArticle.getId()).isEqualTo(1L);
+            assertThat(cachedDb.getEntityCache().getHitCount()).isEqualTo(1);
+
+            assertThatThrownBy(() -> cachedDb.genSql().append("SELECT * FROM article WHERE id = ?", "not-a-number").selectRow(Article.class))
+                    .isInstanceOf(NoDataException.class);
+
+            // 문자열 id 로 수정하면 테이블 전체를 무효화합니다.
+            cachedDb.genSql()
+                    .append("UPDATE article")
+                    .append("SET title = ?", "제목1 new")
+                    .append("WHERE id = ?", "01")
+                    .update();
+
+            article = cachedDb.genSql().append("SELECT * FROM article WHERE id = ?", 1).selectRow(Article.class);
+
+            assertThat(article.getTitle()).isEqualTo("제목1 new");
+        } finally {
+            cachedDb.close();
+        }
+    }
+
+    @Test
+    @DisplayName("selectRows, Row 에 키 추가, 삭제")
+    public void t034() {
+        Map<String, Object> articleRow = simpleDb.genSql()
+                .append("SELECT id, title FROM article WHERE id = ?", 1)
+                .selectRow();
+
+        // 기존 LinkedHashMap 처럼 컬럼에 없는 키를 추가하거나 삭제할 수 있습니다.
+        articleRow.put("commentsCount", 3);
+        articleRow.remove("title");
+
+        assertThat(articleRow).containsExactly(
+                Map.entry("id", 1L),
+                Map.entry("commentsCount", 3)
+        );
+    }
+
+    @Test
+    @DisplayName("트랜잭션 중 연결이 끊기면 rollback 전까지 실패")
+    public void t035() {
+        SimpleDb transactionDb = new SimpleDb("localhost", "root", "lldj123414", "simpleDb__test");
+
+        try {
+            transactionDb.startTransaction();
+            long connectionId = transactionDb.selectLong("SELECT CONNECTION_ID()");
+
+            // 다른 커넥션에서 트랜잭션 커넥션을 끊습니다.
+            simpleDb.run("KILL CONNECTION " + connectionId);
+
+            assertThatThrownBy(() -> transactionDb.genSql().append("SELECT COUNT(*) FROM article").selectLong())
+                    .isInstanceOf(ConnectionLostException.class);
+
+            // 새 커넥션을 열어 autocommit 으로 이어서 실행하지 않습니다.
+            assertThatThrownBy(() -> transactionDb.genSql()
+                    .append("UPDATE article")
+                    .append("SET title = ?", "제목 new")
+                    .append("WHERE id = ?", 1)
+                    .update())
+                    .isInstanceOf(ConnectionLostException.class);
+
+            // 롤백할 커넥션이 없으므로 트랜잭션 상태만 정리됩니다.
+            transactionDb.rollback();
+
+            assertThat(transactionDb.genSql().append("SELECT title FROM article WHERE id = ?", 1).selectString())
+                    .isEqualTo("제목1");
+        } finally {
+            transactionDb.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Sql.cancel, 실행 전 취소")
+    public void t036() {
+        long cancelledQueryCount = simpleDb.getCancelledQueryCount();
+
+        // 실행 전에 취소한 Sql 은 실행하지 않고 바로 실패합니다.
+        Sql cancelledSql = simpleDb.genSql().append("SELECT COUNT(*) FROM article");
+        cancelledSql.cancel();
+
+        assertThatThrownBy(cancelledSql::selectLong).isInstanceOf(QueryCancelledException.class);
+        assertThat(simpleDb.getCancelledQueryCount()).isEqualTo(cancelledQueryCount + 1);
+    }
+
+    @Test
+    @DisplayName("sharding, 사용자 샤드 함수의 키 없는 insert, 문자열 정렬 scatter-gather, 커넥션을 연 샤드는 지원하지 않음")
+    public void t037() {
+        List<SimpleDb> shards = IntStream.rangeClosed(1, 2)
+                .mapToObj(no -> {
+                    simpleDb.run("CREATE DATABASE IF NOT EXISTS simpleDb__test_shard%d".formatted(no));
+
+                    return new SimpleDb("localhost", "root", "lldj123414", "simpleDb__test_shard%d".formatted(no));
+                })
+                .toList();
+
+        ShardedSimpleDb shardedSimpleDb = new ShardedSimpleDb(shards, ShardedSimpleDb.rangeShardKeyFunction(100));
+
+        try {
+            shards.forEach(SimpleDbTest::createArticleTable);
+
+            // 생성될 id 로 샤드를 다시 찾을 수 없으므로 샤드 키가 필요합니다.
+            assertThatThrownBy(() -> shardedSimpleDb.genSql()
+                    .append("INSERT INTO article")
+                    .append("SET createdDate = NOW()")
+                    .append(", modifiedDate = NOW()")
+                    .append(", title = ?", "제목1")
+                    .append(", body = ?", "내용1")
+                    .insert())
+                    .isInstanceOf(IllegalStateException.class);
+
+            IntStream.of(1, 101).forEach(id -> shardedSimpleDb.genSql()
+                    .shardKey(id)
+                    .append("INSERT INTO article")
+                    .append("SET id = ?", id)
+                    .append(", createdDate = NOW()")
+                    .append(", modifiedDate = NOW()")
+                    .append(", title = ?", "제목%d".formatted(id))
+                    .append(", body = ?", "내용%d".formatted(id))
+                    .insert());
+
+            // MySQL collation 과 순서가 다를 수 있는 문자열 컬럼 정렬은 거부합니다.
+            assertThatThrownBy(() -> shardedSimpleDb.genSql()
+                    .append("SELECT * FROM article")
+                    .append("ORDER BY title ASC")
+                    .selectRows())
+                    .isInstanceOf(IllegalArgumentException.class);
+        } finally {
+            shardedSimpleDb.close();
+        }
+
+        // 이미 커넥션을 연 SimpleDb 는 AUTO_INCREMENT 설정이 적용되지 않으므로 샤드로 사용할 수 없습니다.
+        assertThatThrownBy(() -> new ShardedSimpleDb(List.of(simpleDb)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("upsert, 상위 클래스에 id 가 있는 엔티티")
+    public void t038() {
+        Map<String, Object> articleRow = new HashMap<>(simpleDb.genSql()
+                .append("SELECT * FROM article WHERE id = ?", 1)
+                .selectRow());
+        articleRow.put("title", "제목1 new");
+        ArticleEntity articleEntity = Ut.mapper.mapToObj(articleRow, ArticleEntity.class);
+
+        // 상위 클래스의 id 도 포함되므로 새 행을 추가하지 않고 기존 행을 수정합니다.
+        Upsert.Result result = simpleDb.genUpsert("article")
+                .entity(articleEntity)
+                .updateColumns("title")
+                .execute();
+
+        assertThat(result.insertedOrUnchangedCount()).isEqualTo(0);
+        assertThat(result.updatedCount()).isEqualTo(1);
+        assertThat(simpleDb.selectLong("SELECT COUNT(*) FROM article")).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("autoProjection, 상위 클래스 필드 컬럼도 조회")
+    public void t039() {
+        SimpleDb projectionDb = new SimpleDb("localhost", "root", "lldj123414", "simpleDb__test");
+        projectionDb.setAutoProjection(true);
+
+        try {
+            /*
+            == rawSql ==
+            SELECT `id`, `createdDate`, `modifiedDate`, `title`, `body`, `isBlind`
+            FROM article
+            WHERE id = 1
+            */
+            ArticleEntity articleEntity = projectionDb.genSql()
+                    .append("SELECT *")
+                    .append("FROM article")
+                    .append("WHERE id = ?", 1)
+                    .selectRow(ArticleEntity.class);
+
+            assertThat(articleEntity.getId()).isEqualTo(1L);
+            assertThat(articleEntity.getCreatedDate()).isNotNull();
+            assertThat(articleEntity.getTitle()).isEqualTo("제목1");
+
+            // UNION, JOIN 처럼 테이블 하나에서 조회하지 않는 SQL 은 바꾸지 않습니다.
+            List<ArticleEntity> articleEntities = projectionDb.genSql()
+                    .append("SELECT * FROM article WHERE id = ?", 1)
+                    .append("UNION")
+                    .append("SELECT * FROM article WHERE id = ?", 2)
+                    .selectRows(ArticleEntity.class);
+
+            assertThat(articleEntities)
+                    .extracting(ArticleEntity::getTitle)
+                    .containsExactlyInAnyOrder("제목1", "제목2");
+        } finally {
+            projectionDb.close();
+        }
+    }
+
+    @Test
+    @DisplayName("SQL 모양, 등록된 hot SQL 은 호출 수와 관계없이 statement 캐시 대상")
+    public void t040() {
+        SimpleDb hotDb = new SimpleDb("localhost", "root", "lldj123414", "simpleDb__test");
+        hotDb.registerHotSql("SELECT * FROM article WHERE id = ?");
+
+        // 리터럴만 다른 SQL 도 같은 모양이므로 캐시 대상입니다.
+        assertThat(hotDb.getSqlShapes().get("SELECT * FROM article WHERE id = 3").isStatementCacheCandidate()).isTrue();
+        assertThat(hotDb.getSqlShapes().get("SELECT * FROM article WHERE title = ?").isStatementCacheCandidate()).isFalse();
+
+        // 서버에 prepare 해 둔 statement 를 재사용해도 매번 새 파라미터로 실행됩니다.
+        try {
+            Article article1 = hotDb.genSql().append("SELECT * FROM article WHERE id = ?", 1).selectRow(Article.class);
+            Article article2 = hotDb.genSql().append("SELECT * FROM article WHERE id = ?", 2).selectRow(Article.class);
+
+            assertThat(article1.getTitle()).isEqualTo("제목1");
+            assertThat(article2.getTitle()).isEqualTo("제목2");
+        } finally {
+            hotDb.close();
+        }
+    }
+
+    @Test
+    @DisplayName("entity cache, 최대 크기를 넘으면 먼저 들어온 항목부터 제거")
+    public void t041() {
+        SimpleDb cachedDb = new SimpleDb("localhost", "root", "lldj123414", "simpleDb__test");
+        cachedDb.enableEntityCache(2);
+
+        try {
+            for (long id = 1; id <= 5; id++) {
+                cachedDb.genSql().append("SELECT * FROM article WHERE id = ?", id).selectRow(Article.class);
+            }
+
+            EntityCache entityCache = cachedDb.getEntityCache();
+
+            assertThat(entityCache.size()).isLessThanOrEqualTo(2);
+            assertThat(entityCache.getEvictionCount()).isEqualTo(3);
+
+            // 가장 먼저 들어온 id 1 은 제거되었으므로 다시 DB 에서 조회합니다.
+            cachedDb.genSql().append("SELECT * FROM article WHERE id = ?", 1).selectRow(Article.class);
+
+            assertThat(entityCache.getHitCount()).isEqualTo(0);
+
+            // 무효화 표시가 계속 쌓여도 최대 크기를 넘지 않습니다.
+            for (long id = 1; id <= 5; id++) {
+                cachedDb.genSql().append("UPDATE article").append("SET title = ?", "제목").append("WHERE id = ?", id).update();
+            }
+
+            assertThat(entityCache.size()).isLessThanOrEqualTo(2);
+        } finally {
+            cachedDb.close();
+        }
+    }
+
+
+    @Test
+    @DisplayName("upsert, 패킷 크기 제한으로 여러 문장에 나눠 실행")
+    public void t042() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        // id 1 은 제목이 바뀌므로 update, id 3 은 제목이 같아 변경 없음, id 가 null 인 행은 insert 됩니다.
+        Map<String, Object> updatedRow = new HashMap<>(Map.of(
+                "id", 1L,
+                "createdDate", now,
+                "modifiedDate", now,
+                "title", "제목1 new",
+                "body", "내용1",
+                "isBlind", false
+        ));
+        Map<String, Object> unchangedRow = new HashMap<>(updatedRow);
+        unchangedRow.put("id", 3L);
+        unchangedRow.put("title", "제목3");
+        Map<String, Object> newRow = new HashMap<>(updatedRow);
+        newRow.put("id", null);
+        newRow.put("title", "제목 new");
+
+        // 한 행도 제한보다 크므로 행마다 별도 문장으로 실행됩니다.
+        Upsert.Result result = simpleDb.genUpsert("article")
+                .row(updatedRow)
+                .row(unchangedRow)
+                .row(newRow)
+                .updateColumns("title")
+                .maxPacketBytes(1)
+                .execute();
+
+        assertThat(result.statementCount()).isEqualTo(3);
+        assertThat(result.updatedCount()).isEqualTo(1);
+        assertThat(result.insertedOrUnchangedCount()).isEqualTo(2);
+        assertThat(simpleDb.selectLong("SELECT COUNT(*) FROM article")).isEqualTo(7);
+
+        // 테이블, 컬럼 이름은 SQL 에 그대로 들어가므로 영문자, 숫자, _ 만 허용합니다.
+        assertThatThrownBy(() -> simpleDb.genUpsert("article` (id) VALUES (1); DROP TABLE article; --")
+                .row(newRow)
+                .execute())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }